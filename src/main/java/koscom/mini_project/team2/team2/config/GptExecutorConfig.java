@@ -0,0 +1,54 @@
+package koscom.mini_project.team2.team2.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class GptExecutorConfig {
+
+    /**
+     * GPT 동시 호출 전용 스레드 풀
+     * 큐가 가득 차면 호출 스레드에서 직접 실행해 요청이 유실되지 않도록 한다.
+     */
+    @Bean(name = "gptExecutor")
+    public ThreadPoolTaskExecutor gptExecutor(
+            @Value("${openai.executor.core-size:8}") int coreSize,
+            @Value("${openai.executor.max-size:16}") int maxSize,
+            @Value("${openai.executor.queue-capacity:100}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("gpt-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 배치 추천 전용 스레드 풀
+     * 배치 작업이 gptExecutor를 점유하면 설문 채점 등 내부 GPT 호출이 밀리므로 분리한다.
+     */
+    @Bean(name = "recommendBatchExecutor")
+    public ThreadPoolTaskExecutor recommendBatchExecutor(
+            @Value("${etf.recommend.batch.parallelism:4}") int parallelism) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 4);
+        executor.setThreadNamePrefix("recommend-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,69 @@
+package koscom.mini_project.team2.team2.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 이력성 테이블용 id 채번 테이블 (@TableGenerator, pooled)
+ *
+ * IDENTITY는 insert 후에야 id를 알 수 있어 Hibernate JDBC 배치가 꺼진다.
+ * 이 테이블에서 ALLOCATION_SIZE개씩 미리 받아 쓰면 saveAll이 배치 insert 한 번으로 나간다.
+ * 행 키(sequence_name)는 대상 테이블 이름이며, 기존 IDENTITY로 쌓인 id와 겹치지 않도록
+ * 시작 시 MAX(id) 뒤에서 이어지게 맞춘다.
+ */
+@Component
+@Slf4j
+@DependsOn("entityManagerFactory")  // 스키마 생성(ddl-auto) 이후에 정렬
+public class IdSequenceTable {
+
+    public static final String TABLE = "id_sequence";
+    public static final String PK_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    // @TableGenerator(pkColumnValue)로 쓰는 대상 테이블
+    static final List<String> SEQUENCES = List.of("etf_news", "alert_history", "rebalancing_history", "tutor_history");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceTable(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS %s (
+                    %s VARCHAR(255) NOT NULL PRIMARY KEY,
+                    %s BIGINT
+                )
+                """.formatted(TABLE, PK_COLUMN, VALUE_COLUMN));
+
+        for (String sequence : SEQUENCES) {
+            long maxId = maxId(sequence);
+            // pooled optimizer는 저장값을 구간의 끝으로 보므로 첫 구간이 maxId + 1부터 시작하도록 맞춘다
+            jdbcTemplate.update("""
+                    INSERT INTO %1$s (%2$s, %3$s) VALUES (?, ?) AS new
+                    ON DUPLICATE KEY UPDATE %3$s = GREATEST(%3$s, new.%3$s)
+                    """.formatted(TABLE, PK_COLUMN, VALUE_COLUMN),
+                    sequence, maxId + ALLOCATION_SIZE);
+            log.info("id 채번 테이블 정렬: {} (기존 MAX(id)={})", sequence, maxId);
+        }
+    }
+
+    private long maxId(String table) {
+        try {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            return max != null ? max : 0;
+        } catch (DataAccessException e) {
+            // 테이블이 아직 없으면 1부터
+            return 0;
+        }
+    }
+}
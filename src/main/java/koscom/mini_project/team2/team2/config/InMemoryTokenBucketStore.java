@@ -0,0 +1,40 @@
+package koscom.mini_project.team2.team2.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인스턴스 내부 토큰 버킷 (기본값, rate-limit.store=memory)
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long reserve(String key, double permitsPerSecond, int burst) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(burst, System.nanoTime()));
+        synchronized (bucket) {
+            long now = System.nanoTime();
+            double refill = (now - bucket.updatedAt) / 1e9 * permitsPerSecond;
+            bucket.tokens = Math.min(burst, bucket.tokens + refill) - 1;
+            bucket.updatedAt = now;
+            return bucket.tokens >= 0 ? 0 : (long) (-bucket.tokens / permitsPerSecond * 1e9);
+        }
+    }
+
+    private static final class Bucket {
+
+        double tokens;
+        long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
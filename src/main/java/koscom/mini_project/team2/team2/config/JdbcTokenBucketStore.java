@@ -0,0 +1,76 @@
+package koscom.mini_project.team2.team2.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * 여러 노드가 공유하는 DB 토큰 버킷 (rate-limit.store=jdbc)
+ *
+ * 버킷 한 개 = rate_limit_bucket 한 행. 행을 FOR UPDATE로 잠그고 DB 시각(NOW(6)) 기준으로 충전/차감한다.
+ * 노드 간 시계 차이의 영향을 받지 않는다. 호출마다 DB 왕복이 한 번 있으므로 isBlocking() = true.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "jdbc")
+public class JdbcTokenBucketStore implements TokenBucketStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcTokenBucketStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+                    bucket_key    VARCHAR(100) NOT NULL PRIMARY KEY,
+                    tokens        DOUBLE       NOT NULL,
+                    updated_at_us BIGINT       NOT NULL
+                )
+                """);
+    }
+
+    @Override
+    public long reserve(String key, double permitsPerSecond, int burst) {
+        Long waitNanos = transactionTemplate.execute(status -> {
+            // 처음 보는 키면 가득 찬 버킷으로 시작
+            jdbcTemplate.update("""
+                    INSERT IGNORE INTO rate_limit_bucket (bucket_key, tokens, updated_at_us)
+                    VALUES (?, ?, CAST(UNIX_TIMESTAMP(NOW(6)) * 1000000 AS SIGNED))
+                    """, key, (double) burst);
+
+            Map<String, Object> row = jdbcTemplate.queryForMap("""
+                    SELECT tokens, updated_at_us, CAST(UNIX_TIMESTAMP(NOW(6)) * 1000000 AS SIGNED) AS now_us
+                    FROM rate_limit_bucket
+                    WHERE bucket_key = ?
+                    FOR UPDATE
+                    """, key);
+
+            double tokens = ((Number) row.get("tokens")).doubleValue();
+            long updatedAt = ((Number) row.get("updated_at_us")).longValue();
+            long now = ((Number) row.get("now_us")).longValue();
+
+            double refill = Math.max(0, now - updatedAt) / 1e6 * permitsPerSecond;
+            tokens = Math.min(burst, tokens + refill) - 1;
+
+            jdbcTemplate.update("UPDATE rate_limit_bucket SET tokens = ?, updated_at_us = ? WHERE bucket_key = ?",
+                    tokens, Math.max(now, updatedAt), key);
+            return tokens >= 0 ? 0L : (long) (-tokens / permitsPerSecond * 1e9);
+        });
+        return waitNanos != null ? waitNanos : 0L;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package koscom.mini_project.team2.team2.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate JDBC 배치 설정
+ *
+ * - hibernate.jdbc.batch_size / order_inserts / order_updates: saveAll을 테이블별 배치로 묶는다
+ *   (spring.jpa.properties.hibernate.* 로 따로 지정하면 그 값을 그대로 쓴다)
+ * - MySQL이면 드라이버 속성 rewriteBatchedStatements=true: 배치를 multi-row INSERT 한 문장으로 보낸다
+ *   (JDBC URL에 ?rewriteBatchedStatements=true 를 붙인 것과 같다)
+ * IDENTITY id 엔티티는 Hibernate가 배치하지 않으므로 이력성 테이블은 IdSequenceTable 채번을 쓴다.
+ */
+@Configuration
+@Slf4j
+public class JpaBatchConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(@Value("${jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+            properties.putIfAbsent("hibernate.order_inserts", "true");
+            properties.putIfAbsent("hibernate.order_updates", "true");
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor mysqlBatchRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && hikari.getJdbcUrl() != null
+                        && hikari.getJdbcUrl().startsWith("jdbc:mysql:")
+                        && !hikari.getDataSourceProperties().containsKey("rewriteBatchedStatements")) {
+                    hikari.addDataSourceProperty("rewriteBatchedStatements", "true");
+                    log.info("MySQL rewriteBatchedStatements 활성화: {}", beanName);
+                }
+                return bean;
+            }
+        };
+    }
+}
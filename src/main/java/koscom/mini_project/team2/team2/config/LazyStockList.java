@@ -0,0 +1,120 @@
+package koscom.mini_project.team2.team2.config;
+
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * stock_list 컬럼 원문을 들고 있다가 처음 접근할 때 디코딩하는 List<Stock>
+ *
+ * 엔티티를 읽기만 하고 종목 목록을 쓰지 않는 조회(목록/후보 인덱스 등)는 파싱 비용이 들지 않는다.
+ * 디코딩 전에는 원문을 그대로 저장하고, 비교도 원문끼리 한다 (Hibernate dirty check 시 디코딩 방지).
+ * 수정 연산은 디코딩 후 내부 ArrayList에 위임한다.
+ */
+public class LazyStockList extends AbstractList<Stock> implements RandomAccess {
+
+    private final String raw;
+    private final boolean failSoft;
+    private volatile List<Stock> decoded;
+
+    public LazyStockList(String raw) {
+        this(raw, false);
+    }
+
+    /**
+     * @param failSoft true면 원문이 깨져 있어도 예외 대신 빈 목록으로 본다
+     */
+    public LazyStockList(String raw, boolean failSoft) {
+        this.raw = raw;
+        this.failSoft = failSoft;
+    }
+
+    /**
+     * 디코딩하지 않은 지연 목록은 원문만 복사하고, 그 외에는 ArrayList로 복사
+     */
+    public static List<Stock> copyOf(List<Stock> stocks) {
+        if (stocks == null) return new ArrayList<>();
+        if (stocks instanceof LazyStockList lazy && !lazy.isDecoded()) {
+            return new LazyStockList(lazy.raw, lazy.failSoft);
+        }
+        return new ArrayList<>(stocks);
+    }
+
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    /** 디코딩 전 원문 (디코딩 후에는 목록이 바뀌었을 수 있으므로 null) */
+    public String rawIfUndecoded() {
+        return decoded == null ? raw : null;
+    }
+
+    private List<Stock> stocks() {
+        List<Stock> d = decoded;
+        if (d == null) {
+            synchronized (this) {
+                d = decoded;
+                if (d == null) {
+                    d = decodeRaw();
+                    decoded = d;
+                }
+            }
+        }
+        return d;
+    }
+
+    private List<Stock> decodeRaw() {
+        try {
+            return StockListCodec.decode(raw);
+        } catch (RuntimeException e) {
+            if (failSoft) return new ArrayList<>();
+            throw e;
+        }
+    }
+
+    @Override
+    public Stock get(int index) {
+        return stocks().get(index);
+    }
+
+    @Override
+    public int size() {
+        return stocks().size();
+    }
+
+    @Override
+    public Stock set(int index, Stock element) {
+        return stocks().set(index, element);
+    }
+
+    @Override
+    public void add(int index, Stock element) {
+        stocks().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public Stock remove(int index) {
+        modCount++;
+        return stocks().remove(index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (o instanceof LazyStockList other && !isDecoded() && !other.isDecoded()) {
+            return Objects.equals(raw, other.raw);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // 원문이 달라도(JSON/B1) 내용이 같으면 같은 값이어야 하므로 디코딩 결과 기준
+        return super.hashCode();
+    }
+}
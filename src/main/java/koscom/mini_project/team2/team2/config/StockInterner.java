@@ -0,0 +1,58 @@
+package koscom.mini_project.team2.team2.config;
+
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stock 플라이웨이트 사전
+ *
+ * 여러 ETF가 같은 구성 종목(name, cat, cat_code)을 가지므로 디코딩 시 같은 인스턴스를 공유한다.
+ * 공유 인스턴스이므로 stock_list에서 꺼낸 Stock은 수정하면 안 된다 (바꿀 때는 새 Stock으로 교체).
+ * 카탈로그 종목 수는 제한적이지만, 만일을 대비해 MAX_ENTRIES를 넘으면 더 이상 등록하지 않는다.
+ */
+public final class StockInterner {
+
+    static final int MAX_ENTRIES = 100_000;
+
+    private static final Map<Stock, Stock> STOCKS = new ConcurrentHashMap<>();
+    private static final Map<String, String> STRINGS = new ConcurrentHashMap<>();
+
+    private StockInterner() {
+    }
+
+    public static Stock intern(String name, String cat, Integer catCode) {
+        Stock candidate = new Stock(internString(name), internString(cat), catCode);
+        if (STOCKS.size() >= MAX_ENTRIES) {
+            Stock existing = STOCKS.get(candidate);
+            return existing != null ? existing : candidate;
+        }
+        Stock existing = STOCKS.putIfAbsent(candidate, candidate);
+        return existing != null ? existing : candidate;
+    }
+
+    public static Stock intern(Stock stock) {
+        if (stock == null) return null;
+        return intern(stock.getName(), stock.getCat(), stock.getCat_code());
+    }
+
+    // cat처럼 종목이 달라도 반복되는 문자열 공유
+    private static String internString(String s) {
+        if (s == null) return null;
+        if (STRINGS.size() >= MAX_ENTRIES) {
+            String existing = STRINGS.get(s);
+            return existing != null ? existing : s;
+        }
+        String existing = STRINGS.putIfAbsent(s, s);
+        return existing != null ? existing : s;
+    }
+
+    public static int size() {
+        return STOCKS.size();
+    }
+
+    public static int stringCount() {
+        return STRINGS.size();
+    }
+}
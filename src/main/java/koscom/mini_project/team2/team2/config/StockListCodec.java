@@ -0,0 +1,142 @@
+package koscom.mini_project.team2.team2.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * etf.stock_list 컬럼 인코딩/디코딩
+ *
+ * 저장 형식: "B1:" + Base64(varint 바이너리)
+ *   [개수 varint] 이후 종목마다 [존재 여부 1byte][name][cat][cat_code]
+ *   문자열 = (UTF-8 길이 + 1) varint + 바이트 (0이면 null)
+ *   정수   = (zigzag + 1) varint (0이면 null)
+ * "B1:"로 시작하지 않는 값은 기존 JSON 배열로 읽는다 (기존 데이터 호환).
+ * 디코딩한 Stock은 StockInterner로 ETF 간에 공유한다.
+ */
+public final class StockListCodec {
+
+    static final String BINARY_PREFIX = "B1:";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<List<Stock>> STOCK_LIST_TYPE = new TypeReference<>() {};
+
+    private StockListCodec() {
+    }
+
+    public static String encode(List<Stock> stocks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + stocks.size() * 24);
+        writeVarint(out, stocks.size());
+        for (Stock stock : stocks) {
+            if (stock == null) {
+                out.write(0);
+                continue;
+            }
+            out.write(1);
+            writeString(out, stock.getName());
+            writeString(out, stock.getCat());
+            writeInteger(out, stock.getCat_code());
+        }
+        return BINARY_PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    public static List<Stock> decode(String dbData) {
+        if (dbData == null || dbData.isBlank()) return new ArrayList<>();
+        if (dbData.startsWith(BINARY_PREFIX)) {
+            return decodeBinary(Base64.getDecoder().decode(dbData.substring(BINARY_PREFIX.length())));
+        }
+        try {
+            List<Stock> stocks = JSON.readValue(dbData, STOCK_LIST_TYPE);
+            stocks.replaceAll(StockInterner::intern);
+            return stocks;
+        } catch (Exception e) {
+            throw new IllegalStateException("json -> stockList 변환 실패", e);
+        }
+    }
+
+    private static List<Stock> decodeBinary(byte[] data) {
+        Reader in = new Reader(data);
+        int count = (int) in.varint();
+        List<Stock> stocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.data[in.pos++] == 0) {
+                stocks.add(null);
+                continue;
+            }
+            String name = in.string();
+            String cat = in.string();
+            Integer catCode = in.integer();
+            stocks.add(StockInterner.intern(name, cat, catCode));
+        }
+        return stocks;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        if (s == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeInteger(ByteArrayOutputStream out, Integer v) {
+        if (v == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        long zigzag = ((long) v << 1) ^ ((long) v >> 63);
+        writeVarint(out, zigzag + 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static final class Reader {
+
+        final byte[] data;
+        int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        long varint() {
+            long result = 0;
+            int shift = 0;
+            while (true) {
+                byte b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+                shift += 7;
+            }
+        }
+
+        String string() {
+            int len = (int) varint();
+            if (len == 0) return null;
+            String s = new String(data, pos, len - 1, StandardCharsets.UTF_8);
+            pos += len - 1;
+            return s;
+        }
+
+        Integer integer() {
+            long v = varint();
+            if (v == 0) return null;
+            long zigzag = v - 1;
+            return (int) ((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+    }
+}
@@ -1,36 +1,35 @@
 package koscom.mini_project.team2.team2.config;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * stockList <-> stock_list 컬럼 변환
+ * 읽을 때는 원문만 들고 있는 LazyStockList를 돌려주고(첫 접근 시 디코딩), 쓸 때는 B1 바이너리 형식으로 저장한다.
+ * 기존 JSON 형식 데이터도 그대로 읽힌다 (StockListCodec 참고).
+ */
 @Converter
 public class StockListJsonConverter implements AttributeConverter<List<Stock>, String> {
 
-    private static final ObjectMapper om = new ObjectMapper();
-
     @Override
     public String convertToDatabaseColumn(List<Stock> attribute) {
         try {
-            if (attribute == null) return "[]";
-            return om.writeValueAsString(attribute);
+            if (attribute == null) return StockListCodec.encode(List.of());
+            // 한 번도 펼치지 않은 목록은 읽어온 원문 그대로 저장
+            if (attribute instanceof LazyStockList lazy && lazy.rawIfUndecoded() != null) {
+                return lazy.rawIfUndecoded();
+            }
+            return StockListCodec.encode(attribute);
         } catch (Exception e) {
-            throw new IllegalStateException("stockList -> json 변환 실패", e);
+            throw new IllegalStateException("stockList -> db 변환 실패", e);
         }
     }
 
     @Override
     public List<Stock> convertToEntityAttribute(String dbData) {
-        try {
-            if (dbData == null || dbData.isBlank()) return new ArrayList<>();
-            return om.readValue(dbData, new TypeReference<List<Stock>>() {});
-        } catch (Exception e) {
-            throw new IllegalStateException("json -> stockList 변환 실패", e);
-        }
+        return new LazyStockList(dbData);
     }
 }
@@ -0,0 +1,77 @@
+package koscom.mini_project.team2.team2.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API별 토큰 버킷 rate limiter
+ *
+ * acquire(key)는 토큰을 예약하고 쓸 수 있을 때까지 Mono.delay로 기다린다 (스레드를 붙잡지 않음).
+ * 설정은 키별로 rate-limit.{key}.rate (초당 호출 수), rate-limit.{key}.burst (순간 최대 호출 수),
+ * 없으면 rate-limit.default.* 를 쓴다. 버킷 상태는 TokenBucketStore에 두며 rate-limit.store로 고른다.
+ * 대기 시간은 rate-limit.wait{api=key} Timer로 기록한다.
+ */
+@Component
+@Slf4j
+public class TokenBucketRateLimiter {
+
+    private static final double DEFAULT_RATE = 10.0;
+    private static final int DEFAULT_BURST = 10;
+
+    private final TokenBucketStore store;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(TokenBucketStore store, Environment environment, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 토큰 한 개 획득 (구독 시점에 예약)
+     */
+    public Mono<Void> acquire(String key) {
+        Limit limit = limits.computeIfAbsent(key, this::limitOf);
+        Timer timer = waitTimers.computeIfAbsent(key, k -> meterRegistry.timer("rate-limit.wait", "api", k));
+
+        Mono<Long> reserve = Mono.fromCallable(() -> store.reserve(key, limit.rate(), limit.burst()));
+        if (store.isBlocking()) {
+            reserve = reserve.subscribeOn(Schedulers.boundedElastic());
+        }
+
+        return reserve.flatMap(waitNanos -> {
+            timer.record(waitNanos, TimeUnit.NANOSECONDS);
+            if (waitNanos <= 0) return Mono.empty();
+            log.debug("[RATE_LIMIT] {} 대기 {}ms", key, waitNanos / 1_000_000);
+            return Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+
+    private Limit limitOf(String key) {
+        double rate = environment.getProperty("rate-limit." + key + ".rate", Double.class,
+                environment.getProperty("rate-limit.default.rate", Double.class, DEFAULT_RATE));
+        int burst = environment.getProperty("rate-limit." + key + ".burst", Integer.class,
+                environment.getProperty("rate-limit.default.burst", Integer.class, DEFAULT_BURST));
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalStateException("rate-limit." + key + " 설정이 올바르지 않습니다: rate=" + rate + ", burst=" + burst);
+        }
+        log.info("[RATE_LIMIT] {}: 초당 {}건, burst {}", key, rate, burst);
+        return new Limit(rate, burst);
+    }
+
+    private record Limit(double rate, int burst) { }
+}
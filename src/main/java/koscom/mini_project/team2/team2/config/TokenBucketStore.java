@@ -0,0 +1,25 @@
+package koscom.mini_project.team2.team2.config;
+
+/**
+ * 토큰 버킷 상태 저장소 (인스턴스 내부 메모리 / 여러 노드가 공유하는 DB 등)
+ *
+ * reserve는 토큰 한 개를 예약하고, 그 토큰을 쓸 수 있을 때까지 기다려야 하는 시간을 돌려준다.
+ * 토큰이 없으면 잔량을 음수로 만들어 뒤에 온 요청일수록 더 오래 기다리게 한다 (요청 순서대로 균등 분배).
+ */
+public interface TokenBucketStore {
+
+    /**
+     * @param key              버킷 키 (외부 API 이름)
+     * @param permitsPerSecond 초당 충전 토큰 수
+     * @param burst            최대 보유 토큰 수
+     * @return 예약한 토큰을 쓸 수 있을 때까지 남은 시간 (ns), 0이면 바로 사용
+     */
+    long reserve(String key, double permitsPerSecond, int burst);
+
+    /**
+     * reserve가 I/O로 블로킹되는지 (true면 호출 측에서 별도 스케줄러에서 실행)
+     */
+    default boolean isBlocking() {
+        return false;
+    }
+}
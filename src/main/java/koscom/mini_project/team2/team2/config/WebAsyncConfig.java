@@ -0,0 +1,22 @@
+package koscom.mini_project.team2.team2.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    // 배치 추천(StreamingResponseBody)은 수천 건을 처리하므로 서블릿 기본 비동기 타임아웃(30초)으로는 끊긴다.
+    // SseEmitter는 자체 타임아웃을 쓰므로 영향 없음
+    @Value("${etf.recommend.batch.timeout:1h}")
+    private Duration asyncTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+}
@@ -1,12 +1,22 @@
 package koscom.mini_project.team2.team2.domain.etf.controller;
 
 import koscom.mini_project.team2.team2.domain.etf.dto.*;
+import jakarta.servlet.http.HttpServletRequest;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfImportService;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfRecommendBatchService;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfRecommendStreamService;
 import koscom.mini_project.team2.team2.domain.etf.service.EtfService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -17,6 +27,9 @@ import java.util.List;
 public class ETFController {
 
     private final EtfService etfService;
+    private final EtfRecommendStreamService etfRecommendStreamService;
+    private final EtfRecommendBatchService etfRecommendBatchService;
+    private final EtfImportService etfImportService;
 
     @GetMapping("/test")
     public String test() {
@@ -38,10 +51,55 @@ public class ETFController {
 
     }
 
-    // Read one
+    // 추천 결과를 필드가 완성되는 대로 SSE로 전송
+    @PostMapping(value = "/recommend/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter recommendStream(@RequestBody EtfRecommendRequest request) {
+        return etfRecommendStreamService.stream(request);
+    }
+
+    // NDJSON 설문 목록을 받아 완료되는 순서대로 NDJSON 결과 전송
+    @PostMapping(value = "/recommend/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> recommendBatch(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        StreamingResponseBody stream = out -> etfRecommendBatchService.process(body, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(stream);
+    }
+
+    // 대량 import - CSV(헤더 필수) 또는 NDJSON 본문을 스트리밍으로 읽어 이름 기준 upsert
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<EtfImportResult> importEtfs(HttpServletRequest request) throws IOException {
+        EtfImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? EtfImportService.Format.NDJSON
+                : EtfImportService.Format.CSV;
+        return ResponseEntity.ok(etfImportService.importEtfs(request.getInputStream(), format));
+    }
+
+    // 이름/카테고리 자동완성 (자모 부분 입력, 초성 검색 지원)
+    @GetMapping("/search")
+    public ResponseEntity<List<EtfSummary>> search(@RequestParam String q,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(etfService.search(q, limit));
+    }
+
+    // Read one - If-None-Match가 본문과 같은 version이면 304 (직렬화 생략)
     @GetMapping("/{id}")
-    public ResponseEntity<EtfResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(etfService.findById(id));
+    public ResponseEntity<EtfResponse> findById(@PathVariable Long id, WebRequest webRequest) {
+        EtfVersionedResponse found = etfService.findById(id);
+        if (webRequest.checkNotModified(found.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(found.etag()).body(found.body());
+    }
+
+    // 보유 종목 겹침 기준 유사 ETF
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<EtfSimilarity>> findSimilar(@PathVariable Long id,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(etfService.findSimilar(id, limit));
     }
 
     // Update one
@@ -50,10 +108,23 @@ public class ETFController {
         return ResponseEntity.ok(etfService.update(id, request));
     }
 
-    // Read all
+    // Read all - 카탈로그가 바뀌지 않았으면 304
     @GetMapping
-    public ResponseEntity<List<EtfResponse>> findAll() {
-        return ResponseEntity.ok(etfService.findAll());
+    public ResponseEntity<List<EtfResponse>> findAll(WebRequest webRequest) {
+        String etag = etfService.findCatalogEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(etfService.findAll());
+    }
+
+    // Read page (keyset) - 기본은 LOB 컬럼 제외
+    @GetMapping("/page")
+    public ResponseEntity<EtfPageResponse<?>> findPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean includeLobs) {
+        return ResponseEntity.ok(etfService.findPage(after, limit, includeLobs));
     }
 
     // Delete
@@ -0,0 +1,51 @@
+package koscom.mini_project.team2.team2.domain.etf.controller;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import koscom.mini_project.team2.team2.domain.etf.dto.StockInternerReport;
+import koscom.mini_project.team2.team2.domain.etf.dto.SurveyScorerBenchmarkResponse;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfLookupCache;
+import koscom.mini_project.team2.team2.domain.etf.service.StockInternerReportService;
+import koscom.mini_project.team2.team2.domain.etf.service.SurveyScorerBenchmark;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/etf")
+@RequiredArgsConstructor
+public class EtfAdminController {
+
+    private final SurveyScorerBenchmark surveyScorerBenchmark;
+    private final StockInternerReportService stockInternerReportService;
+    private final EtfLookupCache etfLookupCache;
+
+    /**
+     * 기록된 설문으로 가중치 테이블 scorer vs GPT scorer 비교
+     * POST /api/admin/etf/survey-scorer/benchmark
+     */
+    @PostMapping("/survey-scorer/benchmark")
+    public ResponseEntity<SurveyScorerBenchmarkResponse> benchmarkSurveyScorer(
+            @RequestBody List<EtfRecommendRequest> surveys) {
+        return ResponseEntity.ok(surveyScorerBenchmark.run(surveys));
+    }
+
+    /**
+     * 전체 카탈로그 기준 Stock 플라이웨이트 힙 절감 리포트
+     * GET /api/admin/etf/stock-interner/report
+     */
+    @GetMapping("/stock-interner/report")
+    public ResponseEntity<StockInternerReport> stockInternerReport() {
+        return ResponseEntity.ok(stockInternerReportService.report());
+    }
+
+    /**
+     * ETF 조회 캐시 적중률
+     * GET /api/admin/etf/lookup-cache/stats
+     */
+    @GetMapping("/lookup-cache/stats")
+    public ResponseEntity<EtfLookupCache.CacheStats> lookupCacheStats() {
+        return ResponseEntity.ok(etfLookupCache.stats());
+    }
+}
@@ -0,0 +1,15 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+/**
+ * 카탈로그 전체 ETag 계산용 집계값
+ * 추가/삭제는 count와 id 합이, 수정은 version 합이 바뀐다.
+ */
+public record EtfCatalogStamp(
+        Long count,
+        Long idSum,
+        Long versionSum
+) {
+    public String toEtag() {
+        return "\"etf-catalog-" + count + "-" + Long.toHexString(idSum) + "-" + versionSum + "\"";
+    }
+}
@@ -0,0 +1,23 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+import java.util.List;
+
+/**
+ * 대량 import 결과
+ * errors는 앞에서부터 최대 건수까지만 담고, 넘치면 errorsTruncated=true
+ * aborted=true면 DB 오류로 중간에 멈춘 것 (그 전 청크까지만 반영, 원인은 errors 마지막 항목)
+ */
+public record EtfImportResult(
+        int total,
+        int inserted,
+        int updated,
+        int failed,
+        List<RowError> errors,
+        boolean errorsTruncated,
+        boolean aborted
+) {
+    /**
+     * @param line 입력 본문의 줄 번호 (1부터, CSV는 레코드가 시작하는 줄)
+     */
+    public record RowError(long line, String message) { }
+}
@@ -0,0 +1,18 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+
+import java.util.List;
+
+/**
+ * 대량 import 한 행 (NDJSON 한 줄 / CSV 한 레코드)
+ * name이 같은 ETF가 있으면 갱신하고, null인 필드는 기존 값을 유지한다.
+ */
+public record EtfImportRow(
+        String name,
+        Integer fltRt,
+        Integer riskLevel,
+        String category,
+        String description,
+        List<Stock> stockList
+) { }
@@ -0,0 +1,13 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+import java.util.List;
+
+/**
+ * id 기준 keyset 페이지
+ * 다음 페이지는 after=nextAfter 로 요청한다 (마지막 페이지면 nextAfter = null).
+ */
+public record EtfPageResponse<T>(
+        List<T> items,
+        Long nextAfter
+) {
+}
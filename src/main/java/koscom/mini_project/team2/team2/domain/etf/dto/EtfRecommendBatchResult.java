@@ -0,0 +1,22 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 배치 추천 결과 한 줄 (NDJSON)
+ * index는 요청 본문에서의 줄 순서(빈 줄 제외, 0부터)이며 결과는 완료 순서대로 내려간다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EtfRecommendBatchResult(
+        int index,
+        EtfRecommendResponseDto result,
+        String error
+) {
+    public static EtfRecommendBatchResult success(int index, EtfRecommendResponseDto result) {
+        return new EtfRecommendBatchResult(index, result, null);
+    }
+
+    public static EtfRecommendBatchResult failure(int index, String error) {
+        return new EtfRecommendBatchResult(index, null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+import java.util.List;
+
+/**
+ * GPT 추천 응답 (압축 스키마)
+ * ETF는 id만 받고, 실제 객체는 서버가 후보 목록에서 채운다.
+ */
+public record EtfRecommendGptOutput(
+        String investmentType,
+        String investmentProfile,
+        Integer etfRiskScore,
+        Integer dividendScore,
+        Integer expectedTotalReturn,
+        List<Long> etfIds,
+        List<Integer> portfolioWeights,
+        String reasonSummary
+) {
+}
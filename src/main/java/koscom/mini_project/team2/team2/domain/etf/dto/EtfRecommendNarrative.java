@@ -0,0 +1,10 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+/**
+ * 추천 구조가 정해진 뒤 설문별로 생성하는 설명 문구 (GPT 응답)
+ */
+public record EtfRecommendNarrative(
+        String investmentProfile,
+        String reasonSummary
+) {
+}
@@ -0,0 +1,13 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+/**
+ * 유사 ETF 한 건
+ * similarity는 보유 종목 비중 기준 weighted Jaccard 추정치 (0~1)
+ */
+public record EtfSimilarity(
+        Long id,
+        String name,
+        String category,
+        double similarity
+) {
+}
@@ -0,0 +1,13 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+/**
+ * ETF 목록용 경량 프로젝션 (description/stockList LOB 컬럼 제외)
+ */
+public record EtfSummary(
+        Long id,
+        String name,
+        Integer fltRt,
+        Integer riskLevel,
+        String category
+) {
+}
@@ -0,0 +1,16 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+
+/**
+ * 단건 조회 본문과 ETag
+ * ETag는 본문을 만든 Etf 인스턴스의 version으로 만든다 (캐시된 값이면 캐시된 version).
+ */
+public record EtfVersionedResponse(
+        EtfResponse body,
+        String etag
+) {
+    public static EtfVersionedResponse from(Etf etf) {
+        return new EtfVersionedResponse(EtfResponse.from(etf), "\"etf-" + etf.getId() + "-" + etf.getVersion() + "\"");
+    }
+}
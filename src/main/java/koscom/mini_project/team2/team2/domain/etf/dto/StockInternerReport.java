@@ -0,0 +1,17 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+/**
+ * 전체 카탈로그 로드 시 Stock 플라이웨이트 적용 전/후 힙 사용량 추정치
+ * (64bit JVM, compressed oops 기준 객체 크기로 계산)
+ */
+public record StockInternerReport(
+        int etfCount,
+        long stockReferences,
+        long uniqueStockInstances,
+        long uniqueStringInstances,
+        int internedStocks,
+        long estimatedBytesWithoutInterning,
+        long estimatedBytesWithInterning,
+        long estimatedBytesSaved
+) {
+}
@@ -0,0 +1,25 @@
+package koscom.mini_project.team2.team2.domain.etf.dto;
+
+import java.util.List;
+
+public record SurveyScorerBenchmarkResponse(
+        int totalSurveys,
+        int tableScoredSurveys,
+        double tableAvgMicros,
+        double gptAvgMillis,
+        double riskLevelExactAgreement,   // riskLevel 완전 일치 비율
+        double riskLevelWithinOneAgreement, // riskLevel ±1 이내 비율
+        double fltRtMeanAbsError,
+        List<Item> items
+) {
+    public record Item(
+            int index,
+            Integer tableFltRt,
+            Integer tableRiskLevel,
+            long tableNanos,
+            Integer gptFltRt,
+            Integer gptRiskLevel,
+            long gptMillis,
+            String error
+    ) {}
+}
@@ -1,5 +1,6 @@
 package koscom.mini_project.team2.team2.domain.etf.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import koscom.mini_project.team2.team2.config.StockListJsonConverter;
 import lombok.*;
@@ -13,13 +14,23 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "etf")
+@Table(name = "etf", indexes = {
+        // searchEtfs 후보 조회용 (UNION 각 분기의 range scan + 커버링)
+        @Index(name = "idx_etf_flt_rt_risk_level", columnList = "flt_rt, risk_level"),
+        @Index(name = "idx_etf_risk_level_flt_rt", columnList = "risk_level, flt_rt")
+})
 public class Etf {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // 행이 바뀔 때마다 증가 (캐시 키/ETag 용도, API 응답에는 노출하지 않음)
+    @Version
+    @JsonIgnore
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column
     private String name;
 
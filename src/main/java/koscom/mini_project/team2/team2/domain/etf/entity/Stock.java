@@ -1,17 +1,25 @@
 package koscom.mini_project.team2.team2.domain.etf.entity;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 @Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
+@EqualsAndHashCode
+// stock_list에서 읽은 Stock은 ETF 간 공유 인스턴스(StockInterner)이므로 불변 (바꿀 때는 새로 만들어 교체)
 public class Stock {
 
-    String name;
-    String cat;
-    Integer cat_code;
+    private final String name;
+    private final String cat;
+    private final Integer cat_code;
+
+    @JsonCreator
+    public Stock(@JsonProperty("name") String name,
+                 @JsonProperty("cat") String cat,
+                 @JsonProperty("cat_code") Integer cat_code) {
+        this.name = name;
+        this.cat = cat;
+        this.cat_code = cat_code;
+    }
 }
@@ -0,0 +1,21 @@
+package koscom.mini_project.team2.team2.domain.etf.event;
+
+/**
+ * ETF 카탈로그 변경 이벤트
+ * etfId가 null이면 카탈로그 전체가 변경된 것으로 본다.
+ */
+public record EtfChangedEvent(
+        Long etfId
+) {
+    public static EtfChangedEvent of(Long etfId) {
+        return new EtfChangedEvent(etfId);
+    }
+
+    public static EtfChangedEvent all() {
+        return new EtfChangedEvent(null);
+    }
+
+    public boolean isWholeCatalog() {
+        return etfId == null;
+    }
+}
@@ -0,0 +1,21 @@
+package koscom.mini_project.team2.team2.domain.etf.event;
+
+/**
+ * ETF 구성종목(EtfComponent) 변경 이벤트
+ * etfId가 null이면 전체 ETF의 구성종목이 변경된 것으로 본다.
+ */
+public record EtfComponentsChangedEvent(
+        Long etfId
+) {
+    public static EtfComponentsChangedEvent of(Long etfId) {
+        return new EtfComponentsChangedEvent(etfId);
+    }
+
+    public static EtfComponentsChangedEvent all() {
+        return new EtfComponentsChangedEvent(null);
+    }
+
+    public boolean isAll() {
+        return etfId == null;
+    }
+}
@@ -0,0 +1,88 @@
+package koscom.mini_project.team2.team2.domain.etf.repository;
+
+import koscom.mini_project.team2.team2.config.StockListCodec;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대량 import용 JDBC 쓰기
+ *
+ * Etf 엔티티는 IDENTITY 전략이라 Hibernate가 INSERT를 한 건씩 보내므로, import는 JPA를 거치지 않는다.
+ * 여러 행을 하나의 multi-row INSERT ... ON DUPLICATE KEY UPDATE로 보낸다
+ * (id가 있으면 PK 충돌로 갱신, null이면 auto increment로 새 행).
+ * 드라이버의 rewriteBatchedStatements 설정과 무관하게 청크당 왕복 1회다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EtfBulkRepository {
+
+    // 행당 바인딩 파라미터 수 (MySQL 문장당 최대 65535개)
+    static final int PARAMS_PER_ROW = 7;
+    public static final int MAX_ROWS_PER_STATEMENT = 65535 / PARAMS_PER_ROW;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO etf (id, version, name, flt_rt, risk_level, category, description, stock_list) VALUES ";
+    private static final String ROW_VALUES = "(?, 0, ?, ?, ?, ?, ?, ?)";
+    // 행 별칭(new) 형식 - VALUES(col) 함수는 MySQL 8.0.20부터 deprecated
+    private static final String ON_DUPLICATE = """
+             AS new
+            ON DUPLICATE KEY UPDATE
+                version = version + 1,
+                name = new.name,
+                flt_rt = COALESCE(new.flt_rt, flt_rt),
+                risk_level = COALESCE(new.risk_level, risk_level),
+                category = COALESCE(new.category, category),
+                description = COALESCE(new.description, description),
+                stock_list = COALESCE(new.stock_list, stock_list)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이름 → id (이름이 중복된 기존 행은 가장 작은 id)
+     */
+    public Map<String, Long> findIdsByName() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM etf WHERE name IS NOT NULL ORDER BY id DESC", rs -> {
+            ids.put(rs.getString("name"), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    /**
+     * @param ids rows와 같은 순서, 기존 ETF면 id / 새 ETF면 null
+     */
+    public void upsert(List<Long> ids, List<EtfImportRow> rows) {
+        if (rows.isEmpty()) return;
+        if (rows.size() > MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalArgumentException("rows per statement > " + MAX_ROWS_PER_STATEMENT);
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows.size() * (ROW_VALUES.length() + 1) + ON_DUPLICATE.length());
+        sql.append(INSERT_PREFIX);
+        List<Object> params = new ArrayList<>(rows.size() * PARAMS_PER_ROW);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) sql.append(',');
+            sql.append(ROW_VALUES);
+
+            EtfImportRow row = rows.get(i);
+            params.add(ids.get(i));
+            params.add(row.name());
+            params.add(row.fltRt());
+            params.add(row.riskLevel());
+            params.add(row.category());
+            params.add(row.description());
+            params.add(row.stockList() != null ? StockListCodec.encode(row.stockList()) : null);
+        }
+        sql.append(ON_DUPLICATE);
+
+        jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+}
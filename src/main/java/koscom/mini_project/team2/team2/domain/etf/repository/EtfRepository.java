@@ -1,7 +1,12 @@
 package koscom.mini_project.team2.team2.domain.etf.repository;
 
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfCatalogStamp;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfSummary;
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +15,41 @@ public interface EtfRepository extends JpaRepository<Etf, Long>, EtfRepositoryCu
     Optional<Etf> findByName(String name);
     List<Etf> findByNameContaining(String name);
 
+    // 목록 ETag용 카탈로그 집계
+    @Query("""
+            select new koscom.mini_project.team2.team2.domain.etf.dto.EtfCatalogStamp(
+                count(e), coalesce(sum(e.id), 0L), coalesce(sum(e.version), 0L))
+            from Etf e
+            """)
+    EtfCatalogStamp findCatalogStamp();
+
+    // keyset 페이지 - LOB 컬럼을 읽지 않는 프로젝션
+    @Query("""
+            select new koscom.mini_project.team2.team2.domain.etf.dto.EtfSummary(
+                e.id, e.name, e.fltRt, e.riskLevel, e.category)
+            from Etf e
+            where e.id > :after
+            order by e.id
+            """)
+    List<EtfSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    // 검색 인덱스 로드용 - LOB 컬럼을 읽지 않는 프로젝션
+    @Query("""
+            select new koscom.mini_project.team2.team2.domain.etf.dto.EtfSummary(
+                e.id, e.name, e.fltRt, e.riskLevel, e.category)
+            from Etf e
+            """)
+    List<EtfSummary> findAllSummaries();
+
+    @Query("""
+            select new koscom.mini_project.team2.team2.domain.etf.dto.EtfSummary(
+                e.id, e.name, e.fltRt, e.riskLevel, e.category)
+            from Etf e
+            where e.id = :id
+            """)
+    Optional<EtfSummary> findSummaryById(@Param("id") Long id);
+
+    // keyset 페이지 - 전체 엔티티 (includeLobs=true)
+    List<Etf> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
 }
@@ -1,5 +1,6 @@
 package koscom.mini_project.team2.team2.domain.etf.repository;
 
+import koscom.mini_project.team2.team2.config.LazyStockList;
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
 import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
 import lombok.RequiredArgsConstructor;
@@ -9,14 +10,11 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -24,52 +22,61 @@ import java.util.List;
 public class EtfRepositoryImpl implements EtfRepositoryCustom {
 
     private final JdbcTemplate jdbcTemplate;
-    private final ObjectMapper objectMapper; // ✅ Spring Boot가 자동 Bean 제공
+    // 후보 범위 (설문 점수 ± 범위)
+    private static final int FLT_RT_RANGE = 30;
+    private static final int RISK_LEVEL_RANGE = 3;
 
-    private static final TypeReference<List<Stock>> STOCK_LIST_TYPE =
-            new TypeReference<>() {};
-
-    @Override
-    public List<Etf> searchEtfs(Integer fltRt, Integer riskLevel) {
-
-        String sql = """
+    /**
+     * flt_rt / risk_level 각각의 인덱스 range scan 결과를 UNION 한 뒤
+     * 점수와 가까운 순(동률이면 id 순)으로 정렬한다.
+     * 두 범위 조건을 OR로 묶으면 단일 인덱스를 쓰지 못해 풀 스캔이 된다.
+     */
+    static final String SEARCH_SQL = """
             SELECT
-                id,
-                name,
-                flt_rt,
-                risk_level,
-                category,
-                description,
-                stock_list
-            FROM etf
-            WHERE flt_rt BETWEEN ? AND ?
-               OR risk_level BETWEEN ? AND ?
+                e.id,
+                e.version,
+                e.name,
+                e.flt_rt,
+                e.risk_level,
+                e.category,
+                e.description,
+                e.stock_list
+            FROM (
+                SELECT f.id FROM etf f WHERE f.flt_rt BETWEEN ? AND ?
+                UNION
+                SELECT r.id FROM etf r WHERE r.risk_level BETWEEN ? AND ?
+            ) c
+            JOIN etf e ON e.id = c.id
+            ORDER BY LEAST(ABS(e.flt_rt - ?) / ?, ABS(e.risk_level - ?) / ?), e.id
             LIMIT 10
-        """;
+            """;
 
-        int fltRtMin = fltRt - 30;
-        int fltRtMax = fltRt + 30;
-        int riskMin = riskLevel - 3;
-        int riskMax = riskLevel + 3;
+    @Override
+    public List<Etf> searchEtfs(Integer fltRt, Integer riskLevel) {
+        return jdbcTemplate.query(SEARCH_SQL, etfRowMapper(), searchParams(fltRt, riskLevel));
+    }
 
-        return jdbcTemplate.query(
-                sql,
-                new Object[]{fltRtMin, fltRtMax, riskMin, riskMax},
-                etfRowMapper()
-        );
+    static Object[] searchParams(int fltRt, int riskLevel) {
+        return new Object[]{
+                fltRt - FLT_RT_RANGE, fltRt + FLT_RT_RANGE,
+                riskLevel - RISK_LEVEL_RANGE, riskLevel + RISK_LEVEL_RANGE,
+                fltRt, FLT_RT_RANGE,
+                riskLevel, RISK_LEVEL_RANGE
+        };
     }
 
     private RowMapper<Etf> etfRowMapper() {
         return (rs, rowNum) -> {
             Etf etf = new Etf();
             etf.setId(rs.getLong("id"));
+            etf.setVersion(rs.getLong("version"));
             etf.setName(rs.getString("name"));
             etf.setFltRt(rs.getInt("flt_rt"));
             etf.setRiskLevel(rs.getInt("risk_level"));
             etf.setCategory(rs.getString("category"));
             etf.setDescription(rs.getString("description"));
 
-            // ✅ 핵심: JSON String -> List<Stock>
+            // ✅ 핵심: stock_list 원문 -> List<Stock> (첫 접근 시 디코딩)
             String stockJson = rs.getString("stock_list");
             etf.setStockList(parseStockList(stockJson));
 
@@ -78,13 +85,7 @@ public class EtfRepositoryImpl implements EtfRepositoryCustom {
     }
 
     private List<Stock> parseStockList(String json) {
-        try {
-            if (json == null || json.isBlank()) return Collections.emptyList();
-            return objectMapper.readValue(json, STOCK_LIST_TYPE);
-        } catch (Exception e) {
-            // 운영에서는 로그 남기고 빈 리스트/예외 중 선택
-            // 여기서는 검색/조회가 깨지지 않도록 빈 리스트 반환
-            return Collections.emptyList();
-        }
+        // 검색/조회가 깨지지 않도록 형식이 잘못된 값은 빈 리스트로 본다
+        return new LazyStockList(json, true);
     }
 }
@@ -0,0 +1,91 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV 레코드를 하나씩 읽는다 (본문 전체를 메모리에 올리지 않음)
+ * 따옴표 안의 쉼표/줄바꿈, "" 이스케이프, CRLF, 선두 BOM을 처리한다.
+ */
+class CsvRecordReader {
+
+    private final Reader in;
+    private int peeked = -2;
+    private long line = 1;
+    private long recordLine = 1;
+    private boolean started;
+
+    CsvRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    /** 마지막으로 읽은 레코드가 시작한 줄 번호 (1부터) */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * 다음 레코드의 필드 목록, 끝이면 null
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') c = read();
+        }
+        if (c == -1) return null;
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("닫히지 않은 따옴표 (" + recordLine + "행)");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') read();
+                if (c != -1) line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) peeked = in.read();
+        return peeked;
+    }
+}
@@ -0,0 +1,304 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.config.LazyStockList;
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * (fltRt, riskLevel, category) 기반 인메모리 ETF 후보 인덱스
+ *
+ * 속성은 원시 배열에 보관하고, 조회 시 전체를 한 번 훑어 가까운 순으로 k개를 고른다.
+ * 거리는 기존 searchEtfs 쿼리(flt_rt 범위 OR risk_level 범위)와 같은 의미가 되도록
+ * 축별 정규화 거리 중 작은 값을 기본으로 하고, 두 축의 합을 보조 거리로 더한다.
+ * 인덱스는 불변 스냅샷이며 변경 시 새 스냅샷으로 교체한다.
+ * 전체 로드와 단건 갱신은 DB 조회부터 교체까지 this로 직렬화한다
+ * (로드가 읽은 이전 데이터가 그 사이 반영된 단건 갱신을 덮어쓰지 않도록).
+ */
+@Component
+@Slf4j
+public class EtfCandidateIndex {
+
+    // 보조 거리(두 축 합)의 가중치 - 기본 거리 동률을 가르는 용도
+    private static final double TIE_BREAK_WEIGHT = 1e-3;
+
+    // 다양화 전에 거리순으로 뽑아둘 후보 배수
+    private static final int POOL_FACTOR = 4;
+
+    private final EtfRepository etfRepository;
+
+    @Value("${etf.candidate.flt-rt-scale:30}")
+    private double fltRtScale;
+
+    @Value("${etf.candidate.risk-level-scale:3}")
+    private double riskLevelScale;
+
+    @Value("${etf.candidate.max-per-category:3}")
+    private int maxPerCategory;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready = false;
+
+    // 스냅샷이 교체될 때마다 증가 (파생 데이터의 최신 여부 확인용)
+    private volatile long generation = 0;
+
+    public EtfCandidateIndex(EtfRepository etfRepository) {
+        this.etfRepository = etfRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        List<Etf> etfs = etfRepository.findAll().stream()
+                .map(EtfCandidateIndex::detachedCopy)
+                .toList();
+        snapshot = Snapshot.of(etfs);
+        ready = true;
+        generation++;
+        log.info("ETF 후보 인덱스 로드 완료: {}건", etfs.size());
+    }
+
+    /**
+     * 카탈로그 변경 시 해당 ETF만 다시 읽어 인덱스에 반영
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEtfChanged(EtfChangedEvent event) {
+        if (event.isWholeCatalog()) {
+            load();
+            return;
+        }
+
+        Etf changed = etfRepository.findById(event.etfId())
+                .map(EtfCandidateIndex::detachedCopy)
+                .orElse(null);
+
+        snapshot = changed != null
+                ? snapshot.upsert(changed)
+                : snapshot.remove(event.etfId());
+        generation++;
+    }
+
+    /**
+     * 설문 점수와 가장 가까운 ETF k개 (카테고리당 최대 maxPerCategory개)
+     */
+    public List<Etf> nearest(int fltRt, int riskLevel, int k) {
+        Snapshot s = snapshot;
+        int n = s.size();
+        if (n == 0 || k <= 0) return List.of();
+
+        double[] distance = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (s.missing[i]) {
+                distance[i] = Double.POSITIVE_INFINITY;
+                continue;
+            }
+            double dF = Math.abs(s.fltRt[i] - fltRt) / fltRtScale;
+            double dR = Math.abs(s.riskLevel[i] - riskLevel) / riskLevelScale;
+            distance[i] = Math.min(dF, dR) + TIE_BREAK_WEIGHT * (dF + dR);
+        }
+
+        int[] pool = smallest(distance, Math.min(n, k * POOL_FACTOR));
+
+        // 카테고리 다양화: 거리순으로 채우되 카테고리 상한을 넘는 후보는 뒤로 미룬다
+        List<Etf> result = new ArrayList<>(k);
+        List<Integer> deferred = new ArrayList<>();
+        int[] perCategory = new int[s.categories.length];
+
+        for (int idx : pool) {
+            if (result.size() == k) break;
+            if (distance[idx] == Double.POSITIVE_INFINITY) continue;
+            int category = s.category[idx];
+            if (perCategory[category] < maxPerCategory) {
+                perCategory[category]++;
+                result.add(s.etfs[idx]);
+            } else {
+                deferred.add(idx);
+            }
+        }
+        for (int idx : deferred) {
+            if (result.size() == k) break;
+            result.add(s.etfs[idx]);
+        }
+        return result;
+    }
+
+    /**
+     * 거리가 가장 작은 m개의 인덱스를 거리 오름차순으로 반환 (크기 m 최대 힙)
+     */
+    private static int[] smallest(double[] distance, int m) {
+        int[] heap = new int[m];
+        int size = 0;
+
+        for (int i = 0; i < distance.length; i++) {
+            if (size < m) {
+                heap[size] = i;
+                siftUp(heap, size++, distance);
+            } else if (distance[i] < distance[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, size, distance);
+            }
+        }
+
+        // 힙 정렬로 오름차순 정리
+        int[] sorted = new int[size];
+        for (int end = size - 1; end >= 0; end--) {
+            sorted[end] = heap[0];
+            heap[0] = heap[end];
+            siftDown(heap, end, distance);
+        }
+        return sorted;
+    }
+
+    private static void siftUp(int[] heap, int pos, double[] distance) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (distance[heap[parent]] >= distance[heap[pos]]) break;
+            swap(heap, parent, pos);
+            pos = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] distance) {
+        int pos = 0;
+        while (true) {
+            int left = pos * 2 + 1;
+            if (left >= size) break;
+            int right = left + 1;
+            int largest = (right < size && distance[heap[right]] > distance[heap[left]]) ? right : left;
+            if (distance[heap[pos]] >= distance[heap[largest]]) break;
+            swap(heap, pos, largest);
+            pos = largest;
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    // 영속성 컨텍스트와 분리된 복사본 (인덱스가 여러 요청에서 공유하므로 수정 금지)
+    static Etf detachedCopy(Etf e) {
+        return Etf.builder()
+                .id(e.getId())
+                .version(e.getVersion())
+                .name(e.getName())
+                .fltRt(e.getFltRt())
+                .riskLevel(e.getRiskLevel())
+                .category(e.getCategory())
+                .description(e.getDescription())
+                .stockList(LazyStockList.copyOf(e.getStockList()))
+                .build();
+    }
+
+    /**
+     * 불변 스냅샷 - 같은 위치의 원소가 하나의 ETF를 나타낸다.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = of(List.of());
+
+        final long[] ids;
+        final int[] fltRt;
+        final int[] riskLevel;
+        final int[] category;      // categories 배열의 인덱스
+        final boolean[] missing;   // fltRt/riskLevel 미입력
+        final String[] categories;
+        final Etf[] etfs;
+
+        private Snapshot(long[] ids, int[] fltRt, int[] riskLevel, int[] category,
+                         boolean[] missing, String[] categories, Etf[] etfs) {
+            this.ids = ids;
+            this.fltRt = fltRt;
+            this.riskLevel = riskLevel;
+            this.category = category;
+            this.missing = missing;
+            this.categories = categories;
+            this.etfs = etfs;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        static Snapshot of(List<Etf> etfs) {
+            int n = etfs.size();
+            long[] ids = new long[n];
+            int[] fltRt = new int[n];
+            int[] riskLevel = new int[n];
+            int[] category = new int[n];
+            boolean[] missing = new boolean[n];
+            Map<String, Integer> categoryIndex = new HashMap<>();
+            List<String> categories = new ArrayList<>();
+
+            for (int i = 0; i < n; i++) {
+                Etf etf = etfs.get(i);
+                ids[i] = etf.getId();
+                missing[i] = etf.getFltRt() == null || etf.getRiskLevel() == null;
+                fltRt[i] = etf.getFltRt() != null ? etf.getFltRt() : 0;
+                riskLevel[i] = etf.getRiskLevel() != null ? etf.getRiskLevel() : 0;
+
+                String key = etf.getCategory() != null ? etf.getCategory() : "";
+                Integer idx = categoryIndex.get(key);
+                if (idx == null) {
+                    idx = categories.size();
+                    categoryIndex.put(key, idx);
+                    categories.add(key);
+                }
+                category[i] = idx;
+            }
+
+            return new Snapshot(ids, fltRt, riskLevel, category, missing,
+                    categories.toArray(new String[0]), etfs.toArray(new Etf[0]));
+        }
+
+        Snapshot upsert(Etf etf) {
+            List<Etf> next = new ArrayList<>(Arrays.asList(etfs));
+            int pos = indexOf(etf.getId());
+            if (pos >= 0) {
+                next.set(pos, etf);
+            } else {
+                next.add(etf);
+            }
+            return of(next);
+        }
+
+        Snapshot remove(long id) {
+            int pos = indexOf(id);
+            if (pos < 0) return this;
+            List<Etf> next = new ArrayList<>(Arrays.asList(etfs));
+            next.remove(pos);
+            return of(next);
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ETF 카탈로그 버전 (프로세스 로컬)
+ * 커밋이 끝난 뒤에 올려야 이전 데이터로 만든 결과가 새 버전 키로 캐시되지 않는다.
+ */
+@Component
+public class EtfCatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEtfChanged(EtfChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
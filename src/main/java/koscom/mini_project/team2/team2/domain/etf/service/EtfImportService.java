@@ -0,0 +1,318 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfImportResult;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfImportRow;
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfBulkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.DataTruncation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ETF 대량 import (CSV / NDJSON)
+ *
+ * 본문을 한 행씩 읽어 검증하고, batch-size 행이 모이면 EtfBulkRepository로 한 번에 upsert한다.
+ * 같은 이름의 ETF가 있으면 갱신, 없으면 새로 만든다. 이름→id는 시작할 때 한 번만 읽는다.
+ * 잘못된 행은 건너뛰고 줄 번호와 함께 결과에 담는다. 청크 단위로 커밋되므로 중간에 실패해도 앞 청크는 반영된다.
+ * 행과 무관한 DB 오류(커넥션 실패 등)가 나면 거기서 import를 멈추고 결과에 aborted로 알린다.
+ * 끝나면 EtfChangedEvent.all()로 후보 인덱스/캐시를 다시 만든다.
+ */
+@Service
+@Slf4j
+public class EtfImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_RISK_LEVEL = 9;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final TypeReference<List<Stock>> STOCK_LIST_TYPE = new TypeReference<>() {};
+
+    private final EtfBulkRepository etfBulkRepository;
+    private final ObjectMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${etf.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${etf.import.max-rows:100000}")
+    private int maxRows;
+
+    public EtfImportService(EtfBulkRepository etfBulkRepository,
+                            ObjectMapper mapper,
+                            ApplicationEventPublisher eventPublisher) {
+        this.etfBulkRepository = etfBulkRepository;
+        this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public EtfImportResult importEtfs(InputStream in, Format format) throws IOException {
+        long start = System.currentTimeMillis();
+        Progress progress = new Progress(etfBulkRepository.findIdsByName(),
+                Math.max(1, Math.min(batchSize, EtfBulkRepository.MAX_ROWS_PER_STATEMENT)));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            if (format == Format.CSV) {
+                readCsv(reader, progress);
+            } else {
+                readNdjson(reader, progress);
+            }
+        } finally {
+            progress.flush();
+            if (progress.inserted + progress.updated > 0) {
+                eventPublisher.publishEvent(EtfChangedEvent.all());
+            }
+        }
+
+        log.info("[ETF_IMPORT] {}건 처리 (신규 {}, 갱신 {}, 실패 {}{}) {}ms",
+                progress.total, progress.inserted, progress.updated, progress.failed,
+                progress.aborted ? ", 중단됨" : "", System.currentTimeMillis() - start);
+        return progress.result();
+    }
+
+    private void readNdjson(BufferedReader reader, Progress progress) throws IOException {
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            if (!progress.countRow(lineNo, maxRows)) return;
+
+            EtfImportRow row;
+            try {
+                row = mapper.readValue(line, EtfImportRow.class);
+            } catch (JsonProcessingException e) {
+                progress.reject(lineNo, "JSON 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+                continue;
+            }
+            progress.accept(lineNo, row);
+        }
+    }
+
+    /**
+     * 첫 레코드는 헤더 (name 필수, 나머지 fltRt/riskLevel/category/description/stockList는 선택, snake_case 허용)
+     * stockList 칸은 JSON 배열 문자열
+     */
+    private void readCsv(BufferedReader reader, Progress progress) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) return;
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name")) {
+            progress.addError(csv.recordLine(), "CSV 헤더에 name 컬럼이 없습니다.");
+            return;
+        }
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            long lineNo = csv.recordLine();
+            if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+            if (!progress.countRow(lineNo, maxRows)) return;
+
+            try {
+                String stockList = column(fields, columns, "stocklist");
+                progress.accept(lineNo, new EtfImportRow(
+                        column(fields, columns, "name"),
+                        integer(column(fields, columns, "fltrt"), "fltRt"),
+                        integer(column(fields, columns, "risklevel"), "riskLevel"),
+                        column(fields, columns, "category"),
+                        column(fields, columns, "description"),
+                        stockList != null ? mapper.readValue(stockList, STOCK_LIST_TYPE) : null
+                ));
+            } catch (JsonProcessingException e) {
+                progress.reject(lineNo, "stockList JSON 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                progress.reject(lineNo, e.getMessage());
+            }
+        }
+    }
+
+    // 빈 칸은 null (갱신 시 기존 값 유지)
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= fields.size()) return null;
+        String v = fields.get(i);
+        return v.isBlank() ? null : v;
+    }
+
+    private static Integer integer(String v, String field) {
+        if (v == null) return null;
+        try {
+            return Integer.valueOf(v.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " 값이 정수가 아닙니다: " + v);
+        }
+    }
+
+    static String validate(EtfImportRow row) {
+        if (row.name() == null || row.name().isBlank()) return "name은 필수입니다.";
+        if (row.name().length() > MAX_NAME_LENGTH) return "name은 " + MAX_NAME_LENGTH + "자 이하여야 합니다.";
+        if (row.riskLevel() != null && (row.riskLevel() < 0 || row.riskLevel() > MAX_RISK_LEVEL)) {
+            return "riskLevel은 0~" + MAX_RISK_LEVEL + " 사이여야 합니다.";
+        }
+        if (row.category() != null && row.category().length() > MAX_NAME_LENGTH) {
+            return "category는 " + MAX_NAME_LENGTH + "자 이하여야 합니다.";
+        }
+        return null;
+    }
+
+    /**
+     * 특정 행 때문에 난 오류인지 (제약 조건 위반, 컬럼 길이 초과 등)
+     * 나머지(커넥션/락/문법 오류 등)는 행을 나눠 다시 보내도 소용없으므로 import를 멈춘다.
+     */
+    static boolean isRowError(DataAccessException e) {
+        if (e instanceof DataIntegrityViolationException) return true;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DataTruncation) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 진행 상황 + 아직 쓰지 않은 청크
+     */
+    private final class Progress {
+
+        final Map<String, Long> idByName;
+        final int chunkSize;
+
+        // 이번 import에서 이미 나온 이름 (같은 이름이 두 번 나오면 뒤쪽 행은 오류)
+        final Map<String, Long> seen = new HashMap<>();
+
+        final List<EtfImportRow> rows = new ArrayList<>();
+        final List<Long> ids = new ArrayList<>();
+        final List<Long> lines = new ArrayList<>();
+
+        final List<EtfImportResult.RowError> errors = new ArrayList<>();
+        int total;
+        int inserted;
+        int updated;
+        int failed;
+        boolean errorsTruncated;
+        boolean aborted;
+
+        Progress(Map<String, Long> idByName, int chunkSize) {
+            this.idByName = idByName;
+            this.chunkSize = chunkSize;
+        }
+
+        boolean countRow(long line, int maxRows) {
+            if (aborted) return false;
+            if (total >= maxRows) {
+                addError(line, "최대 건수(" + maxRows + ")를 초과해 이후 행은 처리하지 않았습니다.");
+                return false;
+            }
+            total++;
+            return true;
+        }
+
+        void accept(long line, EtfImportRow row) {
+            String error = validate(row);
+            if (error != null) {
+                reject(line, error);
+                return;
+            }
+            EtfImportRow normalized = new EtfImportRow(row.name().strip(), row.fltRt(), row.riskLevel(),
+                    row.category(), row.description(), row.stockList());
+
+            Long firstLine = seen.putIfAbsent(normalized.name(), line);
+            if (firstLine != null) {
+                reject(line, "같은 name이 " + firstLine + "행에 이미 있습니다: " + normalized.name());
+                return;
+            }
+
+            rows.add(normalized);
+            ids.add(idByName.get(normalized.name()));
+            lines.add(line);
+            if (rows.size() >= chunkSize) flush();
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            addError(line, message);
+        }
+
+        void addError(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EtfImportResult.RowError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) return;
+            write(0, rows.size());
+            rows.clear();
+            ids.clear();
+            lines.clear();
+        }
+
+        /**
+         * [from, to) 구간을 한 문장으로 저장하고, 실패하면 반으로 나눠 다시 시도한다
+         * (문제 행만 오류로 남기고 나머지는 저장, 오류 k건이면 추가 문장 수는 약 k x log2(청크 크기))
+         * 행과 무관한 오류면 나누지 않고 중단한다 - 이 구간부터 남은 행은 모두 실패로 센다.
+         */
+        private void write(int from, int to) {
+            if (aborted) {
+                failed += to - from;
+                return;
+            }
+            try {
+                etfBulkRepository.upsert(ids.subList(from, to), rows.subList(from, to));
+                for (Long id : ids.subList(from, to)) {
+                    if (id != null) updated++;
+                    else inserted++;
+                }
+            } catch (DataAccessException e) {
+                if (!isRowError(e)) {
+                    aborted = true;
+                    failed += to - from;
+                    // 보고 건수 제한과 무관하게 중단 사유는 항상 남긴다
+                    errors.add(new EtfImportResult.RowError(lines.get(from),
+                            "DB 오류로 import를 중단했습니다 (이 행부터 저장되지 않음): " + e.getMostSpecificCause().getMessage()));
+                    log.warn("[ETF_IMPORT] DB 오류로 중단 ({}행부터 미반영)", lines.get(from), e);
+                    return;
+                }
+                if (to - from == 1) {
+                    reject(lines.get(from), "저장 실패: " + e.getMostSpecificCause().getMessage());
+                    return;
+                }
+                log.debug("[ETF_IMPORT] 청크 저장 실패, 나눠서 재시도 ({}~{}행): {}",
+                        lines.get(from), lines.get(to - 1), e.getMostSpecificCause().getMessage());
+                int mid = (from + to) >>> 1;
+                write(from, mid);
+                write(mid, to);
+            }
+        }
+
+        EtfImportResult result() {
+            return new EtfImportResult(total, inserted, updated, failed, List.copyOf(errors), errorsTruncated, aborted);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * id / 이름 기준 ETF 조회 캐시 (read-through, LRU)
+ *
+ * 캐시에는 영속성 컨텍스트와 분리된 복사본을 두고, 꺼낼 때마다 새 복사본을 돌려준다 (호출 측에서 수정해도 캐시는 그대로).
+ * 이름 캐시는 이름 → id만 들고 있고, 실제 엔티티는 id 캐시에서 꺼낸다.
+ * EtfService의 쓰기 경로에서 바로 evict하고, 커밋 후 EtfChangedEvent로 한 번 더 비운다
+ * (커밋 전에 다른 요청이 이전 값을 다시 채웠을 수 있으므로).
+ * DB 조회 도중 evict가 있었으면 읽은 값을 캐시에 넣지 않고, 그래도 남는 오래된 값은 TTL(etf.lookup.cache.ttl)로 만료된다.
+ */
+@Component
+@Slf4j
+public class EtfLookupCache {
+
+    private final EtfRepository etfRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> byId;
+    private final Map<String, Long> idByName;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    // evict/clear마다 증가 - 조회 시작 후 값이 바뀌었으면 읽은 값을 넣지 않는다
+    private long invalidations;
+
+    public EtfLookupCache(EtfRepository etfRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${etf.lookup.cache.max-size:2000}") int maxSize,
+                          @Value("${etf.lookup.cache.ttl:60s}") Duration ttl) {
+        this.etfRepository = etfRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+
+        this.hits = meterRegistry.counter("etf.lookup.cache", "result", "hit");
+        this.misses = meterRegistry.counter("etf.lookup.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("etf.lookup.cache.evictions");
+
+        // accessOrder=true → 조회 순서 기준 LRU
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                boolean evict = size() > EtfLookupCache.this.maxSize;
+                if (evict) evictions.increment();
+                return evict;
+            }
+        };
+        this.idByName = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > EtfLookupCache.this.maxSize;
+            }
+        };
+        meterRegistry.gaugeMapSize("etf.lookup.cache.size", List.of(), byId);
+    }
+
+    public Optional<Etf> findById(Long id) {
+        if (id == null) return Optional.empty();
+
+        Etf cached;
+        long stamp;
+        synchronized (this) {
+            cached = live(id);
+            stamp = invalidations;
+        }
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(EtfCandidateIndex.detachedCopy(cached));
+        }
+
+        misses.increment();
+        return etfRepository.findById(id).map(etf -> store(etf, stamp));
+    }
+
+    public Optional<Etf> findByName(String name) {
+        if (name == null) return Optional.empty();
+
+        Etf cached = null;
+        long stamp;
+        synchronized (this) {
+            Long id = idByName.get(name);
+            if (id != null) cached = live(id);
+            stamp = invalidations;
+        }
+        if (cached != null && name.equals(cached.getName())) {
+            hits.increment();
+            return Optional.of(EtfCandidateIndex.detachedCopy(cached));
+        }
+
+        misses.increment();
+        return etfRepository.findByName(name).map(etf -> store(etf, stamp));
+    }
+
+    /**
+     * 쓰기 경로에서 호출 (id의 엔티티와 그 이름 매핑을 제거)
+     */
+    public void evict(Long id) {
+        if (id == null) return;
+        synchronized (this) {
+            invalidations++;
+            Entry removed = byId.remove(id);
+            if (removed != null && removed.etf.getName() != null) {
+                idByName.remove(removed.etf.getName(), id);
+            }
+            idByName.values().removeIf(id::equals);
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            invalidations++;
+            byId.clear();
+            idByName.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        synchronized (this) {
+            long h = (long) hits.count();
+            long m = (long) misses.count();
+            double hitRate = h + m == 0 ? 0.0 : (double) h / (h + m);
+            return new CacheStats(byId.size(), idByName.size(), h, m, (long) evictions.count(), hitRate);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEtfChanged(EtfChangedEvent event) {
+        if (event.isWholeCatalog()) {
+            clear();
+            log.info("ETF 조회 캐시 초기화");
+            return;
+        }
+        evict(event.etfId());
+    }
+
+    // 호출 측이 this를 잡고 있어야 함. 만료된 항목은 지우고 null
+    private Etf live(Long id) {
+        Entry entry = byId.get(id);
+        if (entry == null) return null;
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            byId.remove(id);
+            return null;
+        }
+        return entry.etf;
+    }
+
+    /**
+     * 조회 시작(stamp) 이후 evict가 없었을 때만 캐시에 넣는다 (커밋 전 값이 evict 뒤에 다시 들어가지 않도록)
+     */
+    private Etf store(Etf loaded, long stamp) {
+        Etf copy = EtfCandidateIndex.detachedCopy(loaded);
+        synchronized (this) {
+            if (stamp == invalidations) {
+                byId.put(copy.getId(), new Entry(copy, System.nanoTime() + ttlNanos));
+                if (copy.getName() != null) {
+                    idByName.put(copy.getName(), copy.getId());
+                }
+            }
+        }
+        return EtfCandidateIndex.detachedCopy(copy);
+    }
+
+    private record Entry(Etf etf, long expiresAt) {}
+
+    public record CacheStats(int size, int nameEntries, long hits, long misses, long evictions, double hitRate) {}
+}
@@ -0,0 +1,92 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 추천 프롬프트용 ETF JSON 조각 캐시
+ * ETF별 JSON을 (id, version) 기준으로 한 번만 직렬화해 두고, 프롬프트 생성 시 이어 붙인다.
+ */
+@Component
+public class EtfPromptFragmentCache {
+
+    private final ObjectMapper mapper;
+    private final Map<Long, Fragment> fragments = new ConcurrentHashMap<>();
+
+    public EtfPromptFragmentCache(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * 후보 ETF 목록을 JSON 배열 문자열로 변환
+     */
+    public String toJsonArray(List<Etf> candidates) {
+        StringBuilder sb = new StringBuilder(candidates.size() * 512);
+        sb.append('[');
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(fragmentOf(candidates.get(i)));
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    public String fragmentOf(Etf etf) {
+        Fragment cached = fragments.get(etf.getId());
+        if (cached != null && Objects.equals(cached.version(), etf.getVersion())) {
+            return cached.json();
+        }
+
+        String json = serialize(etf);
+        fragments.put(etf.getId(), new Fragment(etf.getVersion(), json));
+        return json;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEtfChanged(EtfChangedEvent event) {
+        if (event.isWholeCatalog()) {
+            fragments.clear();
+        } else {
+            fragments.remove(event.etfId());
+        }
+    }
+
+    private String serialize(Etf etf) {
+        try {
+            return mapper.writeValueAsString(new Candidate(
+                    etf.getId(),
+                    etf.getName(),
+                    etf.getFltRt(),
+                    etf.getRiskLevel(),
+                    etf.getCategory(),
+                    etf.getDescription(),
+                    etf.getStockList()
+            ));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize ETF candidate. id=" + etf.getId(), e);
+        }
+    }
+
+    private record Fragment(Long version, String json) {}
+
+    // 프롬프트에 노출할 필드만 (기존 후보 JSON과 동일한 필드 순서)
+    private record Candidate(
+            Long id,
+            String name,
+            Integer fltRt,
+            Integer riskLevel,
+            String category,
+            String description,
+            List<Stock> stockList
+    ) {}
+}
@@ -0,0 +1,140 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendBatchResult;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * NDJSON 배치 추천
+ *
+ * 요청 본문을 한 줄씩 읽으며 바로 처리를 시작하고(동시 처리 수 제한), 끝나는 순서대로 결과를 한 줄씩 쓴다.
+ * 같은 배치 안의 동일 설문은 한 번만 추천하고 결과를 공유하며,
+ * 후보 조회와 프롬프트 접두부는 RecommendBatchContext로 배치 전체가 공유한다.
+ */
+@Service
+@Slf4j
+public class EtfRecommendBatchService {
+
+    private final EtfService etfService;
+    private final ObjectMapper mapper;
+    private final ThreadPoolTaskExecutor batchExecutor;
+
+    @Value("${etf.recommend.batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${etf.recommend.batch.max-lines:10000}")
+    private int maxLines;
+
+    public EtfRecommendBatchService(EtfService etfService,
+                                    ObjectMapper mapper,
+                                    @Qualifier("recommendBatchExecutor") ThreadPoolTaskExecutor batchExecutor) {
+        this.etfService = etfService;
+        this.mapper = mapper;
+        this.batchExecutor = batchExecutor;
+    }
+
+    public void process(InputStream in, OutputStream out) throws IOException {
+        RecommendBatchContext context = new RecommendBatchContext();
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+
+        // 설문 지문 → 진행 중/완료된 추천 (읽기 스레드에서만 접근)
+        Map<String, CompletableFuture<EtfRecommendResponseDto>> bySurvey = new HashMap<>();
+        List<CompletableFuture<Void>> written = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int index = 0;
+
+        while (!aborted.get() && (line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            int lineIndex = index++;
+
+            if (lineIndex >= maxLines) {
+                write(out, EtfRecommendBatchResult.failure(lineIndex, "배치 최대 건수(" + maxLines + ")를 초과했습니다."), aborted);
+                break;
+            }
+
+            EtfRecommendRequest request;
+            try {
+                request = mapper.readValue(line, EtfRecommendRequest.class);
+            } catch (JsonProcessingException e) {
+                write(out, EtfRecommendBatchResult.failure(lineIndex, "요청 JSON 형식이 올바르지 않습니다."), aborted);
+                continue;
+            }
+
+            CompletableFuture<EtfRecommendResponseDto> future = bySurvey.computeIfAbsent(
+                    RecommendResultCache.fingerprint(request),
+                    key -> submit(request, context, permits));
+
+            written.add(future.handle((dto, e) -> {
+                write(out, e == null
+                        ? EtfRecommendBatchResult.success(lineIndex, dto)
+                        : EtfRecommendBatchResult.failure(lineIndex, messageOf(e)), aborted);
+                return null;
+            }));
+        }
+
+        CompletableFuture.allOf(written.toArray(new CompletableFuture[0])).join();
+        log.info("[RECOMMEND_BATCH] 처리 완료: {}건 (고유 설문 {}건)", index, bySurvey.size());
+    }
+
+    // 동시 처리 수만큼만 실행하고, 자리가 없으면 읽기를 멈춰 기다린다
+    private CompletableFuture<EtfRecommendResponseDto> submit(EtfRecommendRequest request,
+                                                              RecommendBatchContext context,
+                                                              Semaphore permits) {
+        permits.acquireUninterruptibly();
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> etfService.recommend(request, context), batchExecutor)
+                    .whenComplete((r, e) -> permits.release());
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void write(OutputStream out, EtfRecommendBatchResult result, AtomicBoolean aborted) {
+        if (aborted.get()) return;
+        try {
+            byte[] json = mapper.writeValueAsBytes(result);
+            synchronized (out) {
+                out.write(json);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // 클라이언트 연결이 끊기면 남은 줄은 읽지 않는다
+            if (aborted.compareAndSet(false, true)) {
+                log.warn("[RECOMMEND_BATCH] 결과 전송 실패, 배치 중단: {}", e.toString());
+            }
+        }
+    }
+
+    private static String messageOf(Throwable e) {
+        Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,212 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendResponseDto;
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ETF 추천 SSE 스트리밍
+ *
+ * GPT 응답을 스트림으로 받으면서 JSON 필드가 완성되는 즉시 이벤트로 내보낸다.
+ * 이벤트 이름은 필드명(investmentType, investmentProfile, ...)이고, ETF는 etfIds 원소가 도착할 때마다
+ * 후보 목록의 객체로 바꿔 "etf" 이벤트로, 마지막에 전체 결과를 "done" 이벤트로 보낸다.
+ * 실패 시 "error" 이벤트 후 종료한다.
+ */
+@Service
+@Slf4j
+public class EtfRecommendStreamService {
+
+    static final String ETF_IDS_FIELD = "etfIds";
+
+    static final String EVENT_ETF = "etf";
+    static final String EVENT_DONE = "done";
+    static final String EVENT_ERROR = "error";
+
+    private final EtfService etfService;
+    private final GptService gptService;
+    private final RecommendResultCache recommendResultCache;
+    private final ObjectMapper mapper;
+    private final ThreadPoolTaskExecutor gptExecutor;
+
+    @Value("${etf.recommend.stream.timeout:120s}")
+    private Duration timeout;
+
+    public EtfRecommendStreamService(EtfService etfService,
+                                     GptService gptService,
+                                     RecommendResultCache recommendResultCache,
+                                     ObjectMapper mapper,
+                                     @Qualifier("gptExecutor") ThreadPoolTaskExecutor gptExecutor) {
+        this.etfService = etfService;
+        this.gptService = gptService;
+        this.recommendResultCache = recommendResultCache;
+        this.mapper = mapper;
+        this.gptExecutor = gptExecutor;
+    }
+
+    public SseEmitter stream(EtfRecommendRequest request) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+
+        String cacheKey = recommendResultCache.keyOf(request);
+        EtfRecommendResponseDto cached = recommendResultCache.get(cacheKey);
+        if (cached != null) {
+            gptExecutor.execute(() -> replay(cached, emitter));
+            return emitter;
+        }
+
+        // 클라이언트가 끊기거나 타임아웃되면 GPT 스트림 구독도 취소
+        AtomicReference<Disposable> subscription = new AtomicReference<>();
+        Runnable cancel = () -> {
+            Disposable d = subscription.get();
+            if (d != null) d.dispose();
+        };
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        emitter.onCompletion(cancel);
+
+        // 설문 채점/후보 선정은 블로킹 호출이므로 요청 스레드를 바로 반환한다
+        gptExecutor.execute(() -> {
+            try {
+                RecommendPlan plan = etfService.plan(request);
+                RecommendStreamParser parser = new RecommendStreamParser(
+                        new EmitterListener(emitter, plan.candidates()), ETF_IDS_FIELD);
+
+                subscription.set(gptService.streamGpt(plan.prompt()).subscribe(
+                        parser::feed,
+                        e -> fail(emitter, e),
+                        () -> complete(cacheKey, parser.text(), plan, emitter)
+                ));
+            } catch (Exception e) {
+                fail(emitter, e);
+            }
+        });
+
+        return emitter;
+    }
+
+    private void complete(String cacheKey, String raw, RecommendPlan plan, SseEmitter emitter) {
+        EtfRecommendResponseDto dto;
+        try {
+            dto = etfService.parseRecommendResponse(raw, plan.candidates());
+        } catch (Exception e) {
+            fail(emitter, e);
+            return;
+        }
+
+        recommendResultCache.put(cacheKey, dto);
+        try {
+            send(emitter, EVENT_DONE, mapper.writeValueAsString(dto));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * 캐시된 결과도 스트리밍과 같은 순서의 이벤트로 보낸다
+     */
+    private void replay(EtfRecommendResponseDto dto, SseEmitter emitter) {
+        try {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("investmentType", dto.getInvestmentType());
+            fields.put("investmentProfile", dto.getInvestmentProfile());
+            fields.put("etfRiskScore", dto.getEtfRiskScore());
+            fields.put("dividendScore", dto.getDividendScore());
+            fields.put("expectedTotalReturn", dto.getExpectedTotalReturn());
+
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                send(emitter, field.getKey(), mapper.writeValueAsString(field.getValue()));
+            }
+            if (dto.getEtfs() != null) {
+                for (Etf etf : dto.getEtfs()) {
+                    send(emitter, EVENT_ETF, mapper.writeValueAsString(etf));
+                }
+            }
+            send(emitter, "portfolioWeights", mapper.writeValueAsString(dto.getPortfolioWeights()));
+            send(emitter, "reasonSummary", mapper.writeValueAsString(dto.getReasonSummary()));
+            send(emitter, EVENT_DONE, mapper.writeValueAsString(dto));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void fail(SseEmitter emitter, Throwable e) {
+        log.warn("[GPT_STREAM] 추천 스트리밍 실패: {}", e.toString());
+        try {
+            send(emitter, EVENT_ERROR, mapper.writeValueAsString(Map.of("message", "추천 생성에 실패했습니다.")));
+            emitter.complete();
+        } catch (Exception sendFailure) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void send(SseEmitter emitter, String name, String json) throws IOException {
+        emitter.send(SseEmitter.event().name(name).data(json));
+    }
+
+    /**
+     * 파서 이벤트를 SSE로 전달 - 클라이언트가 끊겨 전송이 실패하면 스트림을 중단한다
+     */
+    private final class EmitterListener implements RecommendStreamParser.Listener {
+
+        private final SseEmitter emitter;
+        private final Map<Long, Etf> candidates = new HashMap<>();
+
+        EmitterListener(SseEmitter emitter, List<Etf> candidates) {
+            this.emitter = emitter;
+            for (Etf candidate : candidates) {
+                this.candidates.put(candidate.getId(), candidate);
+            }
+        }
+
+        @Override
+        public void onField(String name, String rawValue) {
+            sendOrAbort(name, rawValue);
+        }
+
+        @Override
+        public void onElement(String rawId) {
+            // 후보 밖 id는 건너뛴다 (최종 검증에서 실패 처리)
+            Etf etf = candidates.get(parseId(rawId));
+            if (etf == null) return;
+            try {
+                sendOrAbort(EVENT_ETF, mapper.writeValueAsString(etf));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void sendOrAbort(String name, String json) {
+            try {
+                send(emitter, name, json);
+            } catch (IOException e) {
+                throw new IllegalStateException("SSE client disconnected", e);
+            }
+        }
+
+        private Long parseId(String rawId) {
+            try {
+                return Long.parseLong(rawId.replace("\"", "").trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfSummary;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.util.HangulJamo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ETF 이름/카테고리 자동완성용 인메모리 n-gram 인덱스
+ *
+ * 이름을 자모 단위로 분해(HangulJamo)한 문자열의 1-gram/2-gram → ETF 위치(int[]) 역색인을 만든다.
+ * 질의도 같은 방식으로 분해해 gram별 목록을 교집합한 뒤 실제 부분 문자열인지 확인한다.
+ * 자음만 입력하면(ㅁㄱ) 초성 문자열 인덱스로도 찾는다.
+ * 순위: 이름 일치 > 이름 접두 > 이름 부분 일치(앞쪽일수록) > 카테고리 일치, 같으면 짧은 이름, id 순.
+ * 인덱스는 불변 스냅샷이며 카탈로그가 바뀌면 새로 만들어 교체한다.
+ * 전체 로드와 단건 갱신은 DB 조회부터 교체까지 this로 직렬화한다.
+ */
+@Component
+@Slf4j
+public class EtfSearchIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    private static final int TIER_EXACT = 0;
+    private static final int TIER_PREFIX = 1;
+    private static final int TIER_SUBSTRING = 2;
+    private static final int TIER_CATEGORY = 3;
+
+    // 점수 하위 24bit = 스냅샷 내 위치
+    private static final long POS_MASK = (1L << 24) - 1;
+
+    private final EtfRepository etfRepository;
+
+    // 스냅샷 재구성용 원본 (this로 동기화)
+    private final Map<Long, EtfSummary> entries = new HashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready = false;
+
+    public EtfSearchIndex(EtfRepository etfRepository) {
+        this.etfRepository = etfRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        List<EtfSummary> all = etfRepository.findAllSummaries();
+        entries.clear();
+        for (EtfSummary e : all) entries.put(e.id(), e);
+        snapshot = Snapshot.of(entries.values());
+        ready = true;
+        log.info("ETF 검색 인덱스 로드 완료: {}건", all.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEtfChanged(EtfChangedEvent event) {
+        if (event.isWholeCatalog()) {
+            load();
+            return;
+        }
+
+        EtfSummary changed = etfRepository.findSummaryById(event.etfId()).orElse(null);
+        if (changed != null) {
+            entries.put(changed.id(), changed);
+        } else {
+            entries.remove(event.etfId());
+        }
+        snapshot = Snapshot.of(entries.values());
+    }
+
+    /**
+     * 자동완성 검색 (순위순 최대 limit건)
+     */
+    public List<EtfSummary> search(String q, int limit) {
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String query = HangulJamo.decompose(q);
+        if (query.isEmpty()) return List.of();
+
+        Snapshot s = snapshot;
+        TopK top = new TopK(k);
+        BitSet seen = new BitSet(s.size());
+
+        collect(s.names, s.nameGrams, query, seen, top);
+        if (HangulJamo.isConsonantsOnly(q)) {
+            collect(s.initials, s.initialGrams, HangulJamo.choseong(q), seen, top);
+        }
+        for (Map.Entry<String, int[]> category : s.categories.entrySet()) {
+            if (!category.getKey().contains(query)) continue;
+            for (int pos : category.getValue()) {
+                if (seen.get(pos)) continue;
+                seen.set(pos);
+                top.offer(score(TIER_CATEGORY, 0, s.names[pos].length(), pos));
+            }
+        }
+
+        List<EtfSummary> result = new ArrayList<>(top.size);
+        for (int i = 0; i < top.size; i++) {
+            result.add(s.items[(int) (top.scores[i] & POS_MASK)]);
+        }
+        return result;
+    }
+
+    private static void collect(String[] texts, GramIndex grams, String query, BitSet seen, TopK top) {
+        for (int pos : grams.candidates(query)) {
+            if (seen.get(pos)) continue;
+            String text = texts[pos];
+            int at = text.indexOf(query);
+            if (at < 0) continue;
+            seen.set(pos);
+            int tier = text.length() == query.length() ? TIER_EXACT : at == 0 ? TIER_PREFIX : TIER_SUBSTRING;
+            top.offer(score(tier, at, text.length(), pos));
+        }
+    }
+
+    // [tier 4bit][일치 위치 16bit][길이 16bit][위치 24bit] - 작을수록 앞 순위
+    private static long score(int tier, int at, int length, int pos) {
+        return ((long) tier << 56)
+                | ((long) Math.min(at, 0xFFFF) << 40)
+                | ((long) Math.min(length, 0xFFFF) << 24)
+                | pos;
+    }
+
+    /**
+     * 점수가 작은 k개 (k가 작아 삽입 정렬로 충분)
+     */
+    private static final class TopK {
+
+        final long[] scores;
+        int size;
+
+        TopK(int k) {
+            this.scores = new long[k];
+        }
+
+        void offer(long score) {
+            if (size == scores.length && score >= scores[size - 1]) return;
+            int i = size < scores.length ? size++ : size - 1;
+            while (i > 0 && scores[i - 1] > score) {
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            scores[i] = score;
+        }
+    }
+
+    /**
+     * 1-gram/2-gram → 위치 목록 (오름차순, 중복 없음)
+     */
+    private static final class GramIndex {
+
+        final Map<Integer, int[]> postings;
+
+        private GramIndex(Map<Integer, int[]> postings) {
+            this.postings = postings;
+        }
+
+        static GramIndex of(String[] texts) {
+            Map<Integer, List<Integer>> building = new HashMap<>();
+            for (int pos = 0; pos < texts.length; pos++) {
+                String t = texts[pos];
+                for (int i = 0; i < t.length(); i++) {
+                    add(building, key(t.charAt(i)), pos);
+                    if (i + 1 < t.length()) add(building, key(t.charAt(i), t.charAt(i + 1)), pos);
+                }
+            }
+            Map<Integer, int[]> postings = new HashMap<>(building.size() * 2);
+            building.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+            return new GramIndex(postings);
+        }
+
+        private static void add(Map<Integer, List<Integer>> building, int gram, int pos) {
+            List<Integer> list = building.computeIfAbsent(gram, g -> new ArrayList<>());
+            if (list.isEmpty() || list.get(list.size() - 1) != pos) list.add(pos);
+        }
+
+        static int key(char c) {
+            return c;
+        }
+
+        static int key(char a, char b) {
+            return (a << 16) | b;
+        }
+
+        /**
+         * 질의의 모든 gram을 포함하는 위치 (짧은 목록부터 교집합)
+         */
+        int[] candidates(String query) {
+            if (query.length() == 1) {
+                return postings.getOrDefault(key(query.charAt(0)), new int[0]);
+            }
+            int[][] lists = new int[query.length() - 1][];
+            for (int i = 0; i + 1 < query.length(); i++) {
+                int[] list = postings.get(key(query.charAt(i), query.charAt(i + 1)));
+                if (list == null) return new int[0];
+                lists[i] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(l -> l.length));
+
+            int[] acc = lists[0];
+            for (int i = 1; i < lists.length && acc.length > 0; i++) {
+                acc = intersect(acc, lists[i]);
+            }
+            return acc;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) i++;
+                else if (a[i] > b[j]) j++;
+                else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return n == out.length ? out : Arrays.copyOf(out, n);
+        }
+    }
+
+    /**
+     * 불변 스냅샷 - 같은 위치의 원소가 하나의 ETF를 나타낸다.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = of(List.of());
+
+        final EtfSummary[] items;
+        final String[] names;       // 자모 분해한 이름
+        final String[] initials;    // 초성 이름
+        final GramIndex nameGrams;
+        final GramIndex initialGrams;
+        final Map<String, int[]> categories;   // 자모 분해한 카테고리 → 위치
+
+        private Snapshot(EtfSummary[] items, String[] names, String[] initials, Map<String, int[]> categories) {
+            this.items = items;
+            this.names = names;
+            this.initials = initials;
+            this.nameGrams = GramIndex.of(names);
+            this.initialGrams = GramIndex.of(initials);
+            this.categories = categories;
+        }
+
+        static Snapshot of(Collection<EtfSummary> source) {
+            EtfSummary[] items = source.stream()
+                    .sorted(Comparator.comparing(EtfSummary::id))
+                    .toArray(EtfSummary[]::new);
+            String[] names = new String[items.length];
+            String[] initials = new String[items.length];
+            Map<String, List<Integer>> byCategory = new LinkedHashMap<>();
+            for (int i = 0; i < items.length; i++) {
+                names[i] = HangulJamo.decompose(items[i].name());
+                initials[i] = HangulJamo.choseong(items[i].name());
+                if (items[i].category() != null) {
+                    byCategory.computeIfAbsent(HangulJamo.decompose(items[i].category()), c -> new ArrayList<>()).add(i);
+                }
+            }
+            Map<String, int[]> categories = new LinkedHashMap<>();
+            byCategory.forEach((c, list) -> categories.put(c, list.stream().mapToInt(Integer::intValue).toArray()));
+            return new Snapshot(items, names, initials, categories);
+        }
+
+        int size() {
+            return items.length;
+        }
+    }
+}
@@ -1,28 +1,57 @@
 package koscom.mini_project.team2.team2.domain.etf.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.persistence.EntityNotFoundException;
 import koscom.mini_project.team2.team2.domain.etf.dto.*;
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
 import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class EtfService {
 
-    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d+");
+    // 추천 프롬프트에 넣을 후보 ETF 수
+    static final int CANDIDATE_COUNT = 10;
+
+    // 목록 페이지 최대 크기
+    static final int MAX_PAGE_SIZE = 500;
+
+    // 유사 ETF 조회 최대 건수
+    static final int MAX_SIMILAR = 50;
+
+    // 최종 추천 ETF 수
+    static final int RECOMMEND_COUNT = 5;
 
     private final EtfRepository etfRepository;
     private final GptService gptService;
-    private final ObjectMapper mapper;
+    private final SurveyScoringEngine surveyScoringEngine;
+    private final EtfCandidateIndex etfCandidateIndex;
+    private final RecommendCandidateGrid recommendCandidateGrid;
+    private final EtfPromptFragmentCache etfPromptFragmentCache;
+    private final GptJsonRepairer gptJsonRepairer;
+    private final RecommendResultCache recommendResultCache;
+    private final EtfLookupCache etfLookupCache;
+    private final EtfSearchIndex etfSearchIndex;
+    private final EtfSimilarityIndex etfSimilarityIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EtfResponse create(ETFCreateRequest request) {
         Etf etf = Etf.builder()
@@ -33,14 +62,27 @@ public class EtfService {
                 .description(request.description())
                 .build();
         Etf saved = etfRepository.save(etf);
+        eventPublisher.publishEvent(EtfChangedEvent.of(saved.getId()));
         return EtfResponse.from(saved);
     }
 
+    /**
+     * 목록 ETag (전체 카탈로그 집계 기반)
+     */
     @Transactional(readOnly = true)
-    public EtfResponse findById(Long id) {
-        Etf etf = etfRepository.findById(id)
+    public String findCatalogEtag() {
+        return etfRepository.findCatalogStamp().toEtag();
+    }
+
+    /**
+     * 단건 조회 - 본문과 ETag를 같은 (캐시된) Etf에서 만든다.
+     * 캐시 적중이면 DB를 거치지 않도록 트랜잭션 없이 실행한다 (미스는 리포지토리 조회 자체 트랜잭션).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EtfVersionedResponse findById(Long id) {
+        Etf etf = etfLookupCache.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Etf not found. id=" + id));
-        return EtfResponse.from(etf);
+        return EtfVersionedResponse.from(etf);
     }
 
     @Transactional
@@ -49,6 +91,8 @@ public class EtfService {
         Etf etf = etfRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Etf not found. id=" + id));
         etf.setStockList(request.stockList());
+        etfLookupCache.evict(id);
+        eventPublisher.publishEvent(EtfChangedEvent.of(id));
         return EtfResponse.from(etf);
     }
 
@@ -59,43 +103,238 @@ public class EtfService {
                 .toList();
     }
 
+    /**
+     * id 기준 keyset 페이지 조회
+     * 기본은 LOB(description, stockList)를 제외한 프로젝션만 읽고, includeLobs=true일 때만 전체를 읽는다.
+     * 다음 페이지 존재 여부는 limit+1건을 읽어 판단한다.
+     */
+    @Transactional(readOnly = true)
+    public EtfPageResponse<?> findPage(Long after, int limit, boolean includeLobs) {
+        long cursor = after != null ? after : 0L;
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Pageable firstRows = PageRequest.of(0, size + 1);
+
+        if (includeLobs) {
+            List<Etf> rows = etfRepository.findByIdGreaterThanOrderByIdAsc(cursor, firstRows);
+            List<EtfResponse> items = rows.stream().limit(size).map(EtfResponse::from).toList();
+            return new EtfPageResponse<>(items, rows.size() > size ? items.get(size - 1).id() : null);
+        }
+
+        List<EtfSummary> rows = etfRepository.findSummariesAfter(cursor, firstRows);
+        List<EtfSummary> items = rows.size() > size ? rows.subList(0, size) : rows;
+        return new EtfPageResponse<>(items, rows.size() > size ? items.get(size - 1).id() : null);
+    }
+
+    /**
+     * 이름/카테고리 자동완성 검색
+     * 검색 인덱스가 아직 로드되지 않았으면 LIKE 조회로 대신한다.
+     * 인덱스 조회는 메모리만 보므로 트랜잭션 없이 실행하고, LIKE 조회만 리포지토리의 읽기 전용 트랜잭션을 쓴다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<EtfSummary> search(String q, int limit) {
+        if (q == null || q.isBlank()) return List.of();
+        if (etfSearchIndex.isReady()) {
+            return etfSearchIndex.search(q, limit);
+        }
+        return etfRepository.findByNameContaining(q.strip()).stream()
+                .limit(Math.max(1, Math.min(limit, EtfSearchIndex.MAX_LIMIT)))
+                .map(e -> new EtfSummary(e.getId(), e.getName(), e.getFltRt(), e.getRiskLevel(), e.getCategory()))
+                .toList();
+    }
+
+    /**
+     * 보유 종목이 많이 겹치는 ETF (LSH 후보 중 추정 유사도 순)
+     * 인덱스에서 바로 답하고, 인덱스에 없는 id일 때만 DB로 404(없는 ETF)와 빈 목록(보유 종목 없음)을 가른다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<EtfSimilarity> findSimilar(Long id, int limit) {
+        return etfSimilarityIndex.similar(id, Math.max(1, Math.min(limit, MAX_SIMILAR)))
+                .orElseGet(() -> {
+                    if (!etfRepository.existsById(id)) {
+                        throw new EntityNotFoundException("Etf not found. id=" + id);
+                    }
+                    return List.of();
+                });
+    }
+
     public void delete(Long id) {
         if (!etfRepository.existsById(id)) {
             throw new EntityNotFoundException("Dummy not found. id=" + id);
         }
         etfRepository.deleteById(id);
+        etfLookupCache.evict(id);
+        eventPublisher.publishEvent(EtfChangedEvent.of(id));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EtfRecommendResponseDto recommend(EtfRecommendRequest request) {
+        return recommend(request, new RecommendBatchContext());
+    }
 
-        Integer fltRt = parseIntegerFromGpt(
-            gptService.callGpt(buildFltRtPrompt(request))
-        );
-
-        Integer riskLevel = parseIntegerFromGpt(
-            gptService.callGpt(buildRiskLevelPrompt(request))
-        );
+    /**
+     * 배치 추천용 - 같은 context를 쓰는 요청끼리 후보 조회/프롬프트 접두부를 공유한다.
+     * GPT 호출(수 초~수십 초) 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행한다.
+     * 후보 조회는 인덱스/격자(메모리) 또는 리포지토리 자체 트랜잭션으로 끝나고, 후보는 조회 후 바로 분리된 상태로 쓴다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EtfRecommendResponseDto recommend(EtfRecommendRequest request, RecommendBatchContext context) {
+
+        // 동일 설문 + 동일 카탈로그 버전이면 GPT 호출 없이 반환
+        String cacheKey = recommendResultCache.keyOf(request);
+        EtfRecommendResponseDto cached = recommendResultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
 
-        List<Etf> etfs = etfRepository.searchEtfs(fltRt, riskLevel);
+        RecommendPlan plan = plan(request, context);
 
-        EtfRecommendResponseDto dto = callGptWithRetry(buildRecommendPrompt2(request, etfs), 10);
+        // 같은 격자 칸의 추천 구조가 있으면 설명 문구만 생성
+        EtfRecommendResponseDto dto = null;
+        EtfRecommendResponseDto skeleton = recommendCandidateGrid.skeleton(plan.score());
+        if (skeleton != null) {
+            dto = personalize(skeleton, request);
+        }
+        if (dto == null) {
+            dto = callGptWithRetry(plan, 10);
+            recommendCandidateGrid.putSkeleton(plan.score(), dto);
+        }
 
+        recommendResultCache.put(cacheKey, dto);
         return dto;
 
     }
 
-    public EtfRecommendResponseDto callGptWithRetry(String prompt, int maxRetries) {
+    /**
+     * 설문 채점 → 후보 선정 → 프롬프트 생성 (GPT 호출 직전까지)
+     * 일반/스트리밍/배치 추천이 같은 단계를 공유한다.
+     */
+    @Transactional(readOnly = true)
+    public RecommendPlan plan(EtfRecommendRequest request) {
+        return plan(request, new RecommendBatchContext());
+    }
+
+    @Transactional(readOnly = true)
+    public RecommendPlan plan(EtfRecommendRequest request, RecommendBatchContext context) {
+        SurveyScore score = surveyScoringEngine.score(request);
+        List<Etf> candidates = context.candidates(score, this::findCandidates);
+        // 후보가 추천 수보다 적으면 어떤 GPT 응답도 검증을 통과할 수 없으므로 호출 전에 실패
+        if (candidates.size() < RECOMMEND_COUNT) {
+            throw new IllegalStateException("추천 후보 ETF가 부족합니다: " + candidates.size()
+                    + "건 (필요 " + RECOMMEND_COUNT + "건, fltRt=" + score.fltRt() + ", riskLevel=" + score.riskLevel() + ")");
+        }
+        String prefix = context.promptPrefix(candidates, this::buildRecommendPromptPrefix);
+        return new RecommendPlan(score, candidates, buildRecommendPrompt2(prefix, request));
+    }
+    /**
+     * GPT 응답 텍스트를 추천 DTO로 변환 (형식이 깨졌으면 로컬 복구 후 변환)
+     * GPT는 ETF id만 돌려주므로 ETF 객체는 후보 목록에서 채운다.
+     */
+    public EtfRecommendResponseDto parseRecommendResponse(String raw, List<Etf> candidates) throws JsonProcessingException {
+        EtfRecommendGptOutput output = gptJsonRepairer.parse(raw, EtfRecommendGptOutput.class);
+        return hydrate(output, candidates);
+    }
+
+    /**
+     * id → 후보 ETF 객체 치환
+     * 후보에 없는 id, 중복 id, 개수/비중 길이 불일치는 IllegalArgumentException
+     */
+    static EtfRecommendResponseDto hydrate(EtfRecommendGptOutput output, List<Etf> candidates) {
+        List<Long> ids = output.etfIds();
+        if (ids == null || ids.size() != RECOMMEND_COUNT) {
+            throw new IllegalArgumentException("etfIds must contain " + RECOMMEND_COUNT + " ids: " + ids);
+        }
+        List<Integer> weights = output.portfolioWeights();
+        if (weights == null || weights.size() != ids.size()) {
+            throw new IllegalArgumentException("portfolioWeights must match etfIds: " + weights);
+        }
+
+        Map<Long, Etf> byId = new HashMap<>();
+        for (Etf candidate : candidates) {
+            byId.put(candidate.getId(), candidate);
+        }
+
+        List<Etf> etfs = new ArrayList<>(ids.size());
+        Set<Long> seen = new HashSet<>();
+        for (Long id : ids) {
+            Etf etf = byId.get(id);
+            if (etf == null) {
+                throw new IllegalArgumentException("etfId is not a candidate: " + id);
+            }
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException("duplicated etfId: " + id);
+            }
+            etfs.add(etf);
+        }
+
+        return new EtfRecommendResponseDto(
+                output.investmentType(),
+                output.investmentProfile(),
+                output.etfRiskScore(),
+                output.dividendScore(),
+                output.expectedTotalReturn(),
+                weights,
+                etfs,
+                output.reasonSummary()
+        );
+    }
+
+    /**
+     * 후보 ETF 선정 - 사전 계산 격자 → 인메모리 인덱스 → DB 조회 순으로 사용
+     */
+    private List<Etf> findCandidates(SurveyScore score) {
+        List<Etf> precomputed = recommendCandidateGrid.candidates(score);
+        if (precomputed != null) {
+            return precomputed;
+        }
+        if (etfCandidateIndex.isReady()) {
+            return etfCandidateIndex.nearest(score.fltRt(), score.riskLevel(), CANDIDATE_COUNT);
+        }
+        return etfRepository.searchEtfs(score.fltRt(), score.riskLevel());
+    }
+
+    /**
+     * 추천 구조(skeleton)에 설문별 설명 문구만 채운다. 실패하면 null (전체 추천으로 대체)
+     */
+    private EtfRecommendResponseDto personalize(EtfRecommendResponseDto skeleton, EtfRecommendRequest request) {
+        try {
+            String raw = gptService.callGpt(buildNarrativePrompt(skeleton, request));
+            EtfRecommendNarrative narrative = gptJsonRepairer.parse(raw, EtfRecommendNarrative.class);
+            if (narrative.investmentProfile() == null || narrative.reasonSummary() == null) {
+                return null;
+            }
+            return new EtfRecommendResponseDto(
+                    skeleton.getInvestmentType(),
+                    narrative.investmentProfile(),
+                    skeleton.getEtfRiskScore(),
+                    skeleton.getDividendScore(),
+                    skeleton.getExpectedTotalReturn(),
+                    skeleton.getPortfolioWeights(),
+                    skeleton.getEtfs(),
+                    narrative.reasonSummary()
+            );
+        } catch (Exception e) {
+            log.warn("[GPT_NARRATIVE_FALLBACK] 설명 문구 생성 실패, 전체 추천으로 대체", e);
+            return null;
+        }
+    }
+
+    public EtfRecommendResponseDto callGptWithRetry(RecommendPlan plan, int maxRetries) {
 
+        String prompt = plan.prompt();
+        boolean repairPrompt = false;   // 이번 시도가 포맷 복구 프롬프트인지
         String raw = null;
         Exception lastException = null;
 
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
+                raw = null;
                 raw = gptService.callGpt(prompt);
 
-                EtfRecommendResponseDto dto =
-                        mapper.readValue(raw, EtfRecommendResponseDto.class);
+                EtfRecommendResponseDto dto = parseRecommendResponse(raw, plan.candidates());
 
+                if (repairPrompt) {
+                    gptJsonRepairer.recordLlmRepair();
+                }
                 return dto;
 
             } catch (Exception e) {
@@ -111,8 +350,10 @@ public class EtfService {
                     break;
                 }
 
-                // 🔥 다음 시도부터는 "포맷 복구 프롬프트" 사용
-                prompt = buildRepairJsonPrompt(raw);
+                // 🔥 로컬 복구로도 안 되면 다음 시도부터는 "포맷 복구 프롬프트" 사용
+                // 응답 자체가 없거나(호출 실패) 후보 밖 ETF를 고른 경우는 원래 프롬프트로 재시도
+                repairPrompt = raw != null && e instanceof JsonProcessingException;
+                prompt = repairPrompt ? buildRepairJsonPrompt(raw) : plan.prompt();
             }
         }
 
@@ -131,28 +372,31 @@ public class EtfService {
             
             반환 JSON 스키마:
             {
+              "investmentType": "STRING",
               "investmentProfile": "STRING",
               "etfRiskScore": 0,
               "dividendScore": 0,
               "expectedTotalReturn": 0,
+              "etfIds": [0,0,0,0,0],
               "portfolioWeights": [0,0,0,0,0],
-              "etfs": [
-                {"id":0,"name":"","fltRt":0,"riskLevel":0,"category":"","description":""}
-              ],
               "reasonSummary": "LINE1\\nLINE2\\nLINE3"
             }
             
             규칙:
             - 숫자는 정수만 허용
-            - portfolioWeights는 반드시 길이 5, 합은 100
-            - etfs는 반드시 5개
+            - etfIds는 반드시 서로 다른 ETF id 5개
+            - portfolioWeights는 반드시 길이 5, 합은 100 (etfIds와 같은 순서)
             - 스키마 외 필드 출력 금지
             
             입력 텍스트:
         """ + raw;
     }
 
-    private String buildRecommendPrompt2(EtfRecommendRequest request, List<Etf> candidates) {
+    /**
+     * 프롬프트 중 후보 목록까지의 고정 부분 (같은 후보면 같은 문자열)
+     * 요청마다 달라지는 서베이 응답은 맨 뒤에 붙여 접두부 캐시가 적중하도록 한다.
+     */
+    private String buildRecommendPromptPrefix(List<Etf> candidates) {
         StringBuilder sb = new StringBuilder();
 
         String candidatesJson = toEtfCandidateJson(candidates);
@@ -167,10 +411,10 @@ public class EtfService {
         sb.append("1) 반드시 JSON만 출력한다. 설명/문장/코드블록/마크다운/따옴표 밖 텍스트를 절대 출력하지 마라.\n");
         sb.append("2) JSON의 필드명은 아래 스키마와 EXACTLY 동일해야 한다.\n");
         sb.append("3) 숫자 필드는 정수만 허용한다(소수 금지).\n");
-        sb.append("4) etfs는 반드시 5개이며, 후보 ETF 목록에 있는 객체만 그대로 포함한다(임의 생성/누락 금지).\n");
-        sb.append("5) portfolioWeights는 반드시 길이 5의 정수 리스트이고, 합은 정확히 100이어야 한다.\n");
+        sb.append("4) etfIds는 반드시 서로 다른 5개이며, 후보 ETF 목록에 있는 id만 사용한다(임의 생성/중복 금지).\n");
+        sb.append("5) portfolioWeights는 반드시 길이 5의 정수 리스트이고, etfIds와 같은 순서이며, 합은 정확히 100이어야 한다.\n");
         sb.append("6) reasonSummary는 정확히 3줄(줄바꿈 2회 포함)로 작성한다.\n");
-        sb.append("7) ⭐ etfs 내부의 stockList는 후보 ETF에 포함된 값을 그대로 복사하여 출력한다.\n\n");
+        sb.append("7) ⭐ ETF 정보(이름/설명/stockList 등)는 출력하지 말고 id만 출력한다.\n\n");
 
         // ✅ 투자 성향 정의 가이드 (⭐ 추가)
         sb.append("투자 성향 설명: investmentProfile (1~2줄 요약)\n");
@@ -182,7 +426,7 @@ public class EtfService {
         sb.append("- 공격형: 높은 변동성을 감수하고 고수익 추구, etfRiskScore 80~100 수준\n");
         sb.append("- investmentType에는 반드시 위 5개 중 하나의 문자열만 사용한다.\n\n");
 
-        // ✅ 스키마 고정 (⭐ stockList 포함)
+        // ✅ 스키마 고정 (ETF는 id만 - 객체는 서버가 후보 목록에서 채운다)
         sb.append("반환 JSON 스키마(이 형태 그대로):\n");
         sb.append("{\n");
         sb.append("  \"investmentType\": \"STRING\",\n");
@@ -190,20 +434,8 @@ public class EtfService {
         sb.append("  \"etfRiskScore\": 0,\n");
         sb.append("  \"dividendScore\": 0,\n");
         sb.append("  \"expectedTotalReturn\": 0,\n");
+        sb.append("  \"etfIds\": [0,0,0,0,0],\n");
         sb.append("  \"portfolioWeights\": [0,0,0,0,0],\n");
-        sb.append("  \"etfs\": [\n");
-        sb.append("    {\n");
-        sb.append("      \"id\": 0,\n");
-        sb.append("      \"name\": \"\",\n");
-        sb.append("      \"fltRt\": 0,\n");
-        sb.append("      \"riskLevel\": 0,\n");
-        sb.append("      \"category\": \"\",\n");
-        sb.append("      \"description\": \"\",\n");
-        sb.append("      \"stockList\": [\n");
-        sb.append("        {\"name\":\"\",\"cat\":\"\",\"cat_code\":0}\n");
-        sb.append("      ]\n");
-        sb.append("    }\n");
-        sb.append("  ],\n");
         sb.append("  \"reasonSummary\": \"LINE1\\nLINE2\\nLINE3\"\n");
         sb.append("}\n\n");
 
@@ -213,148 +445,76 @@ public class EtfService {
         sb.append("- dividendScore(0~100): 배당/현금흐름 선호가 강할수록 높게 산정.\n");
         sb.append("- expectedTotalReturn: 추정 총 수익률을 정수로만 제시(예: 8). 과장 금지.\n\n");
 
-        // ✅ 입력 데이터
-        sb.append("[사용자 서베이 응답]\n");
-        sb.append("- 질의:\n");
-        appendQaList(sb, request.qaList());
-
-        sb.append("\n[후보 ETF 목록(JSON)]\n");
-        sb.append(candidatesJson);
-
-        // ⭐ stockList 구조 예시를 명시적으로 주입
-        sb.append("\n\n[stockList JSON 예시]\n");
-        sb.append("{\"stockList\":[");
-        sb.append("{\"name\":\"S&P 500 지수\",\"cat\":\"지수\",\"cat_code\":8},");
-        sb.append("{\"name\":\"Apple\",\"cat\":\"해외\",\"cat_code\":2},");
-        sb.append("{\"name\":\"Microsoft\",\"cat\":\"해외\",\"cat_code\":2},");
-        sb.append("{\"name\":\"Amazon.com\",\"cat\":\"해외\",\"cat_code\":2}");
-        sb.append("]}\n");
-
-        sb.append("\n추가 제약:\n");
+        sb.append("추가 제약:\n");
         sb.append("- 추천 ETF 5개는 서로 중복되지 않아야 한다.\n");
         sb.append("- 포트폴리오는 분산 원칙을 지키되, 사용자가 선택한 관심 테마/목적을 우선 반영한다.\n");
         sb.append("- 후보 목록의 description과 stockList를 활용하여 추천 이유를 구성하되, 광고성 문구는 금지한다.\n");
 
-        return sb.toString();
-    }
+        sb.append("\n[후보 ETF 목록(JSON)]\n");
+        sb.append(candidatesJson);
+        sb.append("\n");
 
-    private String toEtfCandidateJson(List<Etf> candidates) {
-        try {
-            List<Etf> etfs = candidates.stream()
-                    .map(e -> new Etf(
-                            e.getId(),
-                            e.getName(),
-                            e.getFltRt(),
-                            e.getRiskLevel(),
-                            e.getCategory(),
-                            e.getDescription(),
-                            e.getStockList()
-                    ))
-                    .toList();
-
-            return mapper.writeValueAsString(etfs);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to serialize ETF candidates", e);
-        }
+        return sb.toString();
     }
 
+    private String buildRecommendPrompt2(String prefix, EtfRecommendRequest request) {
+        StringBuilder sb = new StringBuilder(prefix);
 
-    private String buildPickOneEtfPrompt(EtfRecommendRequest request, String etfsStr) {
-        StringBuilder sb = new StringBuilder();
-
-        // 1️⃣ 역할과 목적 명시
-
-        sb.append("아래는 ETF 정보들이야\n");
-        sb.append(etfsStr + "\n");
-
-        // 6️⃣ 실제 사용자 입력
-        sb.append("아래는 사용자의 투자 성향 설문 응답이다.\n");
-
-        sb.append("\n- 사용자 질의:\n");
+        // ✅ 입력 데이터
+        sb.append("\n[사용자 서베이 응답]\n");
+        sb.append("- 질의:\n");
         appendQaList(sb, request.qaList());
 
         return sb.toString();
     }
 
-    private String buildRiskLevelPrompt(EtfRecommendRequest request) {
+    private String buildNarrativePrompt(EtfRecommendResponseDto skeleton, EtfRecommendRequest request) {
         StringBuilder sb = new StringBuilder();
 
-        // 1️⃣ 역할과 목적 명시
-        sb.append("너는 금융 투자 성향 분석 AI다.\n");
-        sb.append("아래 설문 응답을 바탕으로 사용자의 감내 가능한 위험 수준(risk_level)을 ");
-        sb.append("0~9 사이의 정수 하나로 평가해라.\n\n");
-
-        // 2️⃣ risk_level 정의 (신뢰성 핵심)
-        sb.append("risk_level 정의:\n");
-        sb.append("0 = 매우 안정적 (손실 회피 강함, 변동성 거의 허용 안 함)\n");
-        sb.append("2 = 저위험 혼합/지수 중심\n");
-        sb.append("5 = 일반 주식형, 중립적 위험 감내\n");
-        sb.append("7 = 테마·섹터 집중, 변동성 감내\n");
-        sb.append("9 = 레버리지·투기성, 매우 공격적\n\n");
-
-        // 3️⃣ 판단 기준 명시 (AI 주관 차단)
-        sb.append("판단 기준:\n");
-        sb.append("- 손실 발생 시 행동(즉시 매도 vs 유지/추가 매수)\n");
-        sb.append("- 하락장에서의 대응 방식\n");
-        sb.append("- 이익 발생 시 실현 성향\n");
-        sb.append("- 투자 기간(단기 vs 장기)\n");
-        sb.append("- 특정 테마/섹터에 대한 집중 성향\n");
-        sb.append("- 감정적·주관적 표현은 사용하지 말 것\n\n");
-
-        // 4️⃣ 점수 산정 가이드
-        sb.append("점수 산정 가이드:\n");
-        sb.append("- 손실 회피, 단기, 공포 반응 위주면 0~2\n");
-        sb.append("- 장기 보유, 계획 유지, 중립적 반응이면 3~5\n");
-        sb.append("- 하락장 추가 매수, 테마 집중, 공격적 반응이면 6~8\n");
-        sb.append("- 레버리지·극단적 선택 성향이 명확할 경우만 9\n\n");
-
-        // 5️⃣ 출력 형식 강제
-        sb.append("출력 형식:\n");
-        sb.append("- 반드시 정수 하나만 출력\n");
-        sb.append("- 설명, 문장, 기호, 공백, 줄바꿈 없이 숫자만 출력\n");
-        sb.append("- 출력 예시:\n");
-        sb.append("3\n\n");
+        sb.append("너는 금융 투자 추천 엔진이다.\n");
+        sb.append("아래 [확정된 추천 포트폴리오]는 변경하지 말고, [사용자 서베이 응답]에 맞춘 설명 문구만 작성하라.\n\n");
 
-        // 6️⃣ 실제 사용자 입력
-        sb.append("아래는 사용자의 투자 성향 설문 응답이다.\n");
+        sb.append("출력 규칙(매우 중요):\n");
+        sb.append("1) 반드시 JSON만 출력한다. 설명/문장/코드블록/마크다운을 절대 출력하지 마라.\n");
+        sb.append("2) investmentProfile은 사용자의 투자 성향을 1~2줄로 요약한다.\n");
+        sb.append("3) reasonSummary는 정확히 3줄(줄바꿈 2회 포함)로 작성하며, 광고성 문구는 금지한다.\n\n");
 
-        sb.append("\n- 사용자 질의:\n");
+        sb.append("반환 JSON 스키마(이 형태 그대로):\n");
+        sb.append("{\"investmentProfile\": \"STRING\", \"reasonSummary\": \"LINE1\\nLINE2\\nLINE3\"}\n\n");
+
+        sb.append("[확정된 추천 포트폴리오]\n");
+        sb.append("- 투자 성향: ").append(skeleton.getInvestmentType()).append("\n");
+        List<Etf> etfs = skeleton.getEtfs();
+        List<Integer> weights = skeleton.getPortfolioWeights();
+        for (int i = 0; i < etfs.size(); i++) {
+            Etf etf = etfs.get(i);
+            sb.append("- ").append(etf.getName())
+                    .append(" (").append(i < weights.size() ? weights.get(i) : 0).append("%, ")
+                    .append(etf.getCategory()).append("): ")
+                    .append(safe(etf.getDescription())).append("\n");
+        }
+
+        sb.append("\n[사용자 서베이 응답]\n");
+        sb.append("- 질의:\n");
         appendQaList(sb, request.qaList());
 
         return sb.toString();
     }
 
+    private String toEtfCandidateJson(List<Etf> candidates) {
+        return etfPromptFragmentCache.toJsonArray(candidates);
+    }
+
 
-    private String buildFltRtPrompt(EtfRecommendRequest request) {
+    private String buildPickOneEtfPrompt(EtfRecommendRequest request, String etfsStr) {
         StringBuilder sb = new StringBuilder();
 
-        // 1️⃣ 역할과 목표 명확화
-        sb.append("너는 금융 투자 성향 분석 AI다.\n");
-        sb.append("아래 설문 응답을 바탕으로 사용자가 감내할 수 있는 ");
-        sb.append("시장 변동성 허용 수준(volatility_tolerance)을 하나의 정수 값으로 평가해라.\n\n");
-
-        // 2️⃣ 점수 정의 (신뢰성 핵심)
-        sb.append("평가 기준:\n");
-        sb.append("- 출력 값은 -10000 ~ 10000 사이의 정수\n");
-        sb.append("- 음수일수록 변동성 회피 성향이 강함\n");
-        sb.append("- 0에 가까울수록 중립적 성향\n");
-        sb.append("- 양수일수록 변동성을 감내하거나 선호함\n\n");
-
-        // 3️⃣ 판단 규칙 (AI의 주관 차단)
-        sb.append("판단 규칙:\n");
-        sb.append("- 투자 기간, 손실 상황에서의 반응, 하락장 행동, 이익 실현 성향을 종합적으로 고려\n");
-        sb.append("- 단기 손실에 민감하거나 공포 반응이 강하면 음수 방향으로 평가\n");
-        sb.append("- 하락장에서 추가 매수, 장기 보유, 변동성 감내 행동이 많을수록 양수 방향으로 평가\n");
-        sb.append("- 개인 의견이나 설명 없이 수치만 산출\n\n");
-
-        // 4️⃣ 출력 형식 강제 (매우 중요)
-        sb.append("출력 형식:\n");
-        sb.append("- 반드시 정수 하나만 출력\n");
-        sb.append("- 설명, 문장, 기호, 공백, 줄바꿈 없이 숫자만 출력\n");
-        sb.append("- 예시 출력:\n");
-        sb.append("3500\n\n");
-
-        // 5️⃣ 실제 입력 데이터
+        // 1️⃣ 역할과 목적 명시
+
+        sb.append("아래는 ETF 정보들이야\n");
+        sb.append(etfsStr + "\n");
+
+        // 6️⃣ 실제 사용자 입력
         sb.append("아래는 사용자의 투자 성향 설문 응답이다.\n");
 
         sb.append("\n- 사용자 질의:\n");
@@ -363,7 +523,7 @@ public class EtfService {
         return sb.toString();
     }
 
-    private void appendQaList(StringBuilder sb, List<EtfRecommendRequest.QaItem> list) {
+    static void appendQaList(StringBuilder sb, List<EtfRecommendRequest.QaItem> list) {
         if (list == null || list.isEmpty()) {
             sb.append("  (없음)\n");
             return;
@@ -375,39 +535,8 @@ public class EtfService {
         }
     }
 
-    private String safe(String s) {
+    private static String safe(String s) {
         return (s == null) ? "" : s.replace("\n", " ").trim();
     }
 
-    /**
-     * GPT 응답 문자열에서 정수값을 추출하여 Integer로 반환
-     *
-     * @param gptResult GPT API로부터 받은 문자열
-     * @return Integer 값
-     * @throws IllegalArgumentException 정수를 추출할 수 없는 경우
-     */
-    public static Integer parseIntegerFromGpt(String gptResult) {
-        if (gptResult == null || gptResult.isBlank()) {
-            throw new IllegalArgumentException("GPT result is null or empty");
-        }
-
-        Matcher matcher = INTEGER_PATTERN.matcher(gptResult);
-
-        if (!matcher.find()) {
-            throw new IllegalArgumentException(
-                    "No integer value found in GPT result: " + gptResult
-            );
-        }
-
-        try {
-            return Integer.valueOf(matcher.group());
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException(
-                    "Failed to parse integer from GPT result: " + gptResult, e
-            );
-        }
-
-
-    }
-
-}
\ No newline at end of file
+}
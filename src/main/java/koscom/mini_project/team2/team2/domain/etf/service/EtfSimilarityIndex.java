@@ -0,0 +1,289 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfSimilarity;
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfComponentsChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.domain.news.entity.EtfComponent;
+import koscom.mini_project.team2.team2.domain.news.repository.EtfComponentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 보유 종목 겹침 기반 유사 ETF 인덱스 (weighted MinHash + LSH)
+ *
+ * ETF마다 보유 종목 분포로 길이 K(= bands x rows) 서명을 만든다.
+ *   - EtfComponent가 있으면 비중(weight)을 합 1로 정규화한 분포, 없으면 stockList 종목 균등 분포
+ *   - 종목은 정규화한 종목명으로 식별 (EtfComponent와 stockList가 공통으로 가진 값)
+ *   - 서명은 ICWS(consistent weighted sampling)로 만들며, 두 서명의 칸 일치 비율이 weighted Jaccard 추정치다
+ * 서명을 band로 나눠 버킷에 넣고, 조회 시 같은 버킷을 공유하는 ETF만 후보로 비교한다 (전체 쌍 비교 없음).
+ * 구성종목/ETF 변경 이벤트가 오면 해당 ETF의 서명과 버킷만 다시 계산한다.
+ * 전체 로드와 단건 갱신은 DB 조회부터 반영까지 this로 직렬화한다 (조회는 lock만 쓰므로 막히지 않음).
+ */
+@Component
+@Slf4j
+public class EtfSimilarityIndex {
+
+    private final EtfRepository etfRepository;
+    private final EtfComponentRepository etfComponentRepository;
+    private final int bands;
+    private final int rows;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private volatile boolean ready = false;
+
+    public EtfSimilarityIndex(EtfRepository etfRepository,
+                              EtfComponentRepository etfComponentRepository,
+                              @Value("${etf.similarity.bands:32}") int bands,
+                              @Value("${etf.similarity.rows:4}") int rows) {
+        this.etfRepository = etfRepository;
+        this.etfComponentRepository = etfComponentRepository;
+        this.bands = bands;
+        this.rows = rows;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Map<Long, List<EtfComponent>> componentsByEtf = etfComponentRepository.findAll().stream()
+                .collect(Collectors.groupingBy(EtfComponent::getEtfId));
+
+        Map<Long, Entry> loaded = new HashMap<>();
+        for (Etf etf : etfRepository.findAll()) {
+            Entry entry = entryOf(etf, componentsByEtf.getOrDefault(etf.getId(), List.of()));
+            if (entry != null) loaded.put(etf.getId(), entry);
+        }
+
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+            loaded.forEach(this::put);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("ETF 유사도 인덱스 로드 완료: {}건 (bands={}, rows={})", loaded.size(), bands, rows);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEtfChanged(EtfChangedEvent event) {
+        if (event.isWholeCatalog()) {
+            load();
+        } else {
+            refresh(event.etfId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComponentsChanged(EtfComponentsChangedEvent event) {
+        if (event.isAll()) {
+            load();
+        } else {
+            refresh(event.etfId());
+        }
+    }
+
+    /**
+     * 한 ETF의 서명만 다시 계산해 교체 (ETF가 없거나 보유 종목이 없으면 제거)
+     */
+    synchronized void refresh(Long etfId) {
+        Entry entry = etfRepository.findById(etfId)
+                .map(etf -> entryOf(etf, etfComponentRepository.findByEtfId(etfId)))
+                .orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            remove(etfId);
+            if (entry != null) put(etfId, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 같은 LSH 버킷을 공유하는 ETF 중 추정 유사도가 높은 순으로 limit건
+     * (인덱스에 없는 ETF면 empty - 없는 id인지 보유 종목이 없는 ETF인지는 호출 측이 판단)
+     */
+    public Optional<List<EtfSimilarity>> similar(Long etfId, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry self = entries.get(etfId);
+            if (self == null) return Optional.empty();
+
+            Set<Long> candidates = new HashSet<>();
+            for (int b = 0; b < bands; b++) {
+                Set<Long> bucket = buckets.get(bandKey(b, self.signature));
+                if (bucket != null) candidates.addAll(bucket);
+            }
+            candidates.remove(etfId);
+
+            List<EtfSimilarity> result = new ArrayList<>(candidates.size());
+            for (Long id : candidates) {
+                Entry other = entries.get(id);
+                result.add(new EtfSimilarity(id, other.name, other.category,
+                        estimate(self.signature, other.signature)));
+            }
+            result.sort((a, c) -> a.similarity() != c.similarity()
+                    ? Double.compare(c.similarity(), a.similarity())
+                    : Long.compare(a.id(), c.id()));
+            return Optional.of(result.size() > limit ? List.copyOf(result.subList(0, limit)) : result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 호출 측이 write lock을 잡고 있어야 함
+    private void put(Long etfId, Entry entry) {
+        entries.put(etfId, entry);
+        for (int b = 0; b < bands; b++) {
+            buckets.computeIfAbsent(bandKey(b, entry.signature), k -> new HashSet<>()).add(etfId);
+        }
+    }
+
+    private void remove(Long etfId) {
+        Entry old = entries.remove(etfId);
+        if (old == null) return;
+        for (int b = 0; b < bands; b++) {
+            long key = bandKey(b, old.signature);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(etfId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private long bandKey(int band, int[] signature) {
+        long h = band * 0x9E3779B97F4A7C15L;
+        for (int i = band * rows; i < band * rows + rows; i++) {
+            h = mix(h ^ signature[i]);
+        }
+        return h;
+    }
+
+    private Entry entryOf(Etf etf, List<EtfComponent> components) {
+        Map<String, Double> weights = holdings(etf, components);
+        if (weights.isEmpty()) return null;
+        return new Entry(etf.getName(), etf.getCategory(), signature(weights, bands * rows));
+    }
+
+    /**
+     * 종목명 → 정규화 비중 (합 1)
+     */
+    static Map<String, Double> holdings(Etf etf, List<EtfComponent> components) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        if (!components.isEmpty()) {
+            for (EtfComponent c : components) {
+                String token = normalize(c.getStockName());
+                if (token == null) continue;
+                double w = c.getWeight() != null && c.getWeight() > 0 ? c.getWeight() : 1.0;
+                weights.merge(token, w, Double::sum);
+            }
+        } else if (etf.getStockList() != null) {
+            for (Stock stock : etf.getStockList()) {
+                String token = stock != null ? normalize(stock.getName()) : null;
+                if (token != null) weights.merge(token, 1.0, Double::sum);
+            }
+        }
+
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total > 0) weights.replaceAll((k, w) -> w / total);
+        return weights;
+    }
+
+    private static String normalize(String name) {
+        if (name == null) return null;
+        String s = name.replaceAll("\\s+", "").toLowerCase();
+        return s.isEmpty() ? null : s;
+    }
+
+    /**
+     * ICWS (Ioffe, "Improved Consistent Sampling, Weighted Minhash and L1 Sketching", 2010)
+     * 서명 칸 k마다 종목별로 (종목, k)에서 결정적으로 뽑은 난수로 a를 계산해 최소인 (종목, t)를 고른다.
+     * 두 분포에서 같은 칸이 같은 값일 확률 = weighted Jaccard.
+     */
+    static int[] signature(Map<String, Double> weights, int length) {
+        long[] tokens = new long[weights.size()];
+        double[] lnWeights = new double[weights.size()];
+        int n = 0;
+        for (Map.Entry<String, Double> e : weights.entrySet()) {
+            tokens[n] = hash(e.getKey());
+            lnWeights[n] = Math.log(e.getValue());
+            n++;
+        }
+
+        int[] sig = new int[length];
+        for (int k = 0; k < length; k++) {
+            double bestLnA = Double.POSITIVE_INFINITY;
+            long best = 0;
+            for (int i = 0; i < n; i++) {
+                long h = mix(tokens[i] ^ (k + 1) * 0xC2B2AE3D27D4EB4FL);
+                double r = -Math.log(unit(h = mix(h)) * unit(h = mix(h)));
+                double lnC = Math.log(-Math.log(unit(h = mix(h)) * unit(h = mix(h))));
+                double beta = unit(mix(h));
+
+                double t = Math.floor(lnWeights[i] / r + beta);
+                double lnA = lnC - r * (t - beta) - r;
+                if (lnA < bestLnA) {
+                    bestLnA = lnA;
+                    best = mix(tokens[i] * 31 + (long) t);
+                }
+            }
+            sig[k] = (int) (best ^ (best >>> 32));
+        }
+        return sig;
+    }
+
+    static double estimate(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / a.length;
+    }
+
+    private static long hash(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // (0, 1) 균등 난수 (0이 나오지 않도록 0.5 보정)
+    private static double unit(long h) {
+        return ((h >>> 11) + 0.5) * 0x1.0p-53;
+    }
+
+    private record Entry(String name, String category, int[] signature) { }
+}
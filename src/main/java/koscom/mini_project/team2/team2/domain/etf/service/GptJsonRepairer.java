@@ -0,0 +1,186 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * GPT 응답 JSON 로컬 복구기
+ *
+ * 엄격 파싱이 실패하면 LLM에 다시 묻기 전에 아래 순서로 복구를 시도한다.
+ * 1) 코드블록 표시 및 앞뒤 설명 문장 제거 → 가장 바깥 JSON 객체만 추출
+ * 2) 관대한 파서로 읽기 (끝 쉼표, 따옴표 없는 키, 작은따옴표, 주석, 문자열 내 개행 허용)
+ * 3) 소수 값은 반올림해 정수로 변환 (응답 스키마의 숫자 필드는 모두 정수)
+ *
+ * 결과는 etf.recommend.json.repair{result=direct|local|llm|failed} 카운터로 남긴다.
+ */
+@Component
+@Slf4j
+public class GptJsonRepairer {
+
+    private final ObjectMapper strictMapper;
+    private final ObjectMapper lenientMapper;
+
+    private final Counter direct;
+    private final Counter local;
+    private final Counter llm;
+    private final Counter failed;
+
+    public GptJsonRepairer(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        // 소수 → 정수 필드를 버림으로 받지 않고 로컬 복구(반올림)로 넘긴다
+        this.strictMapper = objectMapper.copy().disable(DeserializationFeature.ACCEPT_FLOAT_AS_INT);
+        this.lenientMapper = objectMapper.copy();
+        for (JsonReadFeature feature : new JsonReadFeature[]{
+                JsonReadFeature.ALLOW_TRAILING_COMMA,
+                JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES,
+                JsonReadFeature.ALLOW_SINGLE_QUOTES,
+                JsonReadFeature.ALLOW_JAVA_COMMENTS,
+                JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS,
+                JsonReadFeature.ALLOW_LEADING_PLUS_SIGN_FOR_NUMBERS}) {
+            this.lenientMapper.configure(feature.mappedFeature(), true);
+        }
+
+        this.direct = meterRegistry.counter("etf.recommend.json.repair", "result", "direct");
+        this.local = meterRegistry.counter("etf.recommend.json.repair", "result", "local");
+        this.llm = meterRegistry.counter("etf.recommend.json.repair", "result", "llm");
+        this.failed = meterRegistry.counter("etf.recommend.json.repair", "result", "failed");
+    }
+
+    /**
+     * 엄격 파싱 → 실패 시 로컬 복구 후 파싱
+     * 로컬 복구로도 실패하면 원래 예외를 던진다 (호출 측에서 LLM 복구로 넘어감).
+     */
+    public <T> T parse(String raw, Class<T> type) throws JsonProcessingException {
+        if (raw == null) {
+            failed.increment();
+            throw new IllegalArgumentException("GPT response is null");
+        }
+
+        try {
+            T value = strictMapper.readValue(raw, type);
+            direct.increment();
+            return value;
+        } catch (JsonProcessingException strictFailure) {
+            try {
+                T value = repair(raw, type);
+                local.increment();
+                log.info("[GPT_JSON_REPAIR] 로컬 복구 성공 (reason={})", strictFailure.getOriginalMessage());
+                return value;
+            } catch (Exception repairFailure) {
+                failed.increment();
+                strictFailure.addSuppressed(repairFailure);
+                throw strictFailure;
+            }
+        }
+    }
+
+    /**
+     * LLM 복구 프롬프트를 거쳐 파싱에 성공한 경우 기록
+     */
+    public void recordLlmRepair() {
+        llm.increment();
+    }
+
+    <T> T repair(String raw, Class<T> type) throws JsonProcessingException {
+        String json = extractOutermostObject(stripCodeFences(raw));
+        JsonNode tree = lenientMapper.readTree(json);
+        roundFloats(tree);
+        return strictMapper.treeToValue(tree, type);
+    }
+
+    static String stripCodeFences(String raw) {
+        return raw.replaceAll("```[A-Za-z]*", "").trim();
+    }
+
+    /**
+     * 첫 '{'부터 짝이 맞는 '}'까지 (문자열 내부 괄호는 무시)
+     * 짝이 맞지 않으면(응답이 잘린 경우) 마지막 '}'까지 잘라 관대한 파서에 맡긴다.
+     */
+    static String extractOutermostObject(String text) {
+        int start = text.indexOf('{');
+        if (start < 0) {
+            throw new IllegalArgumentException("No JSON object found");
+        }
+
+        int depth = 0;
+        boolean inString = false;
+        boolean escape = false;
+        char quote = 0;
+
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                if (escape) {
+                    escape = false;
+                } else if (c == '\\') {
+                    escape = true;
+                } else if (c == quote) {
+                    inString = false;
+                }
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                inString = true;
+                quote = c;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+                if (depth == 0) {
+                    return text.substring(start, i + 1);
+                }
+            }
+        }
+
+        int end = text.lastIndexOf('}');
+        if (end <= start) {
+            throw new IllegalArgumentException("Unterminated JSON object");
+        }
+        return text.substring(start, end + 1);
+    }
+
+    // 소수 → 반올림 정수 (트리 전체)
+    private static void roundFloats(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = field.getValue();
+                if (value.isFloatingPointNumber()) {
+                    field.setValue(toIntegral(value));
+                } else {
+                    roundFloats(value);
+                }
+            }
+        } else if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode value = array.get(i);
+                if (value.isFloatingPointNumber()) {
+                    array.set(i, toIntegral(value));
+                } else {
+                    roundFloats(value);
+                }
+            }
+        }
+    }
+
+    private static JsonNode toIntegral(JsonNode value) {
+        long rounded = Math.round(value.doubleValue());
+        return rounded >= Integer.MIN_VALUE && rounded <= Integer.MAX_VALUE
+                ? IntNode.valueOf((int) rounded)
+                : LongNode.valueOf(rounded);
+    }
+}
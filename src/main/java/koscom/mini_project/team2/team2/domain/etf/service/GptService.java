@@ -1,21 +1,31 @@
 package koscom.mini_project.team2.team2.domain.etf.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.channel.ChannelOption;
 import jakarta.transaction.Transactional;
 import koscom.mini_project.team2.team2.domain.etf.dto.OpenAiResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.netty.http.client.HttpClient;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 @Service
 @Transactional
@@ -30,11 +40,23 @@ public class GptService {
     @Value("${openai.model:gpt-5.2}")
     private String model;
 
+    // 스트리밍은 전체 응답 시간 대신 토큰 사이 대기 시간으로 끊는다
+    @Value("${openai.stream.idle-timeout:30s}")
+    private Duration streamIdleTimeout;
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
     private final RestClient restClient;
+    private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor gptExecutor;
 
-    public GptService(ObjectMapper objectMapper) {
+    public GptService(ObjectMapper objectMapper,
+                      @Qualifier("gptExecutor") ThreadPoolTaskExecutor gptExecutor,
+                      WebClient.Builder webClientBuilder) {
         this.objectMapper = objectMapper;
+        this.gptExecutor = gptExecutor;
 
         HttpClient httpClient = HttpClient.create()
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000) // 연결 타임아웃
@@ -43,6 +65,13 @@ public class GptService {
         this.restClient = RestClient.builder()
                 .requestFactory(new ReactorClientHttpRequestFactory(httpClient))
                 .build();
+
+        HttpClient streamingHttpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000);
+
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(streamingHttpClient))
+                .build();
     }
 
     public String callGpt(String prompt) {
@@ -85,4 +114,71 @@ public class GptService {
 
         return message;
     }
+
+    /**
+     * GPT 비동기 호출
+     * 반환된 future를 cancel 하면 실행 중인 HTTP 호출 스레드도 인터럽트한다.
+     */
+    public CompletableFuture<String> callGptAsync(String prompt) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+
+        Future<?> task = gptExecutor.submit(() -> {
+            try {
+                result.complete(callGpt(prompt));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * GPT 스트리밍 호출 (Responses API stream 모드)
+     * output_text 델타만 순서대로 흘려보내고, response.completed 이벤트에서 종료한다.
+     * 구독을 취소하면 HTTP 연결도 함께 끊긴다.
+     */
+    public Flux<String> streamGpt(String prompt) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", model);
+        body.put("input", prompt);
+        body.put("stream", true);
+
+        return webClient.post()
+                .uri(baseUrl + "/responses")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + openAiApiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .timeout(streamIdleTimeout)
+                .takeUntil(event -> "response.completed".equals(event.event()))
+                .handle((event, sink) -> {
+                    String type = event.event();
+                    if ("response.output_text.delta".equals(type)) {
+                        String delta = readTextField(event.data(), "delta");
+                        if (!delta.isEmpty()) sink.next(delta);
+                    } else if ("error".equals(type) || "response.failed".equals(type)) {
+                        sink.error(new IllegalStateException("OpenAI stream failed: " + event.data()));
+                    }
+                });
+    }
+
+    private String readTextField(String json, String field) {
+        if (json == null) return "";
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return node.path(field).asText("");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid OpenAI stream event: " + json, e);
+        }
+    }
 }
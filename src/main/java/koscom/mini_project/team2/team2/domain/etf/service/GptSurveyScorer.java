@@ -0,0 +1,215 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GPT 기반 설문 채점기
+ * 자유 서술형 응답처럼 가중치 테이블로 채점할 수 없는 경우의 fallback으로 사용한다.
+ */
+@Component
+public class GptSurveyScorer implements SurveyScorer {
+
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d+");
+
+    private final GptService gptService;
+
+    @Value("${etf.recommend.parallel-scoring:true}")
+    private boolean parallelScoring;
+
+    public GptSurveyScorer(GptService gptService) {
+        this.gptService = gptService;
+    }
+
+    @Override
+    public SurveyScore score(EtfRecommendRequest request) {
+        int[] scores = parallelScoring
+                ? scoreSurveyConcurrently(request)
+                : scoreSurveySequentially(request);
+        return new SurveyScore(scores[0], scores[1], "gpt");
+    }
+
+    private int[] scoreSurveySequentially(EtfRecommendRequest request) {
+        Integer fltRt = parseIntegerFromGpt(
+            gptService.callGpt(buildFltRtPrompt(request))
+        );
+
+        Integer riskLevel = parseIntegerFromGpt(
+            gptService.callGpt(buildRiskLevelPrompt(request))
+        );
+
+        return new int[]{fltRt, riskLevel};
+    }
+
+    /**
+     * fltRt / riskLevel 산정 GPT 호출을 동시에 실행
+     * 한쪽이 실패하면 나머지 호출은 즉시 취소한다.
+     */
+    private int[] scoreSurveyConcurrently(EtfRecommendRequest request) {
+        CompletableFuture<String> fltRtCall = gptService.callGptAsync(buildFltRtPrompt(request));
+        CompletableFuture<String> riskLevelCall = gptService.callGptAsync(buildRiskLevelPrompt(request));
+
+        CompletableFuture<Integer> fltRtFuture = fltRtCall.thenApply(GptSurveyScorer::parseIntegerFromGpt);
+        CompletableFuture<Integer> riskLevelFuture = riskLevelCall.thenApply(GptSurveyScorer::parseIntegerFromGpt);
+
+        fltRtFuture.whenComplete((r, e) -> {
+            if (e != null) riskLevelCall.cancel(true);
+        });
+        riskLevelFuture.whenComplete((r, e) -> {
+            if (e != null) fltRtCall.cancel(true);
+        });
+
+        try {
+            CompletableFuture.allOf(fltRtFuture, riskLevelFuture).join();
+        } catch (CancellationException | CompletionException e) {
+            throw firstFailure(fltRtFuture, riskLevelFuture);
+        }
+
+        return new int[]{fltRtFuture.join(), riskLevelFuture.join()};
+    }
+
+    // 취소로 인한 실패보다 실제 원인이 된 예외를 우선 반환
+    private static RuntimeException firstFailure(CompletableFuture<?>... futures) {
+        RuntimeException cancelled = new CancellationException("GPT scoring cancelled");
+        for (CompletableFuture<?> future : futures) {
+            try {
+                future.join();
+            } catch (CancellationException e) {
+                cancelled = e;
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException c) {
+                    cancelled = c;
+                } else if (cause instanceof RuntimeException re) {
+                    return re;
+                } else {
+                    return e;
+                }
+            }
+        }
+        return cancelled;
+    }
+
+    private String buildRiskLevelPrompt(EtfRecommendRequest request) {
+        StringBuilder sb = new StringBuilder();
+
+        // 1️⃣ 역할과 목적 명시
+        sb.append("너는 금융 투자 성향 분석 AI다.\n");
+        sb.append("아래 설문 응답을 바탕으로 사용자의 감내 가능한 위험 수준(risk_level)을 ");
+        sb.append("0~9 사이의 정수 하나로 평가해라.\n\n");
+
+        // 2️⃣ risk_level 정의 (신뢰성 핵심)
+        sb.append("risk_level 정의:\n");
+        sb.append("0 = 매우 안정적 (손실 회피 강함, 변동성 거의 허용 안 함)\n");
+        sb.append("2 = 저위험 혼합/지수 중심\n");
+        sb.append("5 = 일반 주식형, 중립적 위험 감내\n");
+        sb.append("7 = 테마·섹터 집중, 변동성 감내\n");
+        sb.append("9 = 레버리지·투기성, 매우 공격적\n\n");
+
+        // 3️⃣ 판단 기준 명시 (AI 주관 차단)
+        sb.append("판단 기준:\n");
+        sb.append("- 손실 발생 시 행동(즉시 매도 vs 유지/추가 매수)\n");
+        sb.append("- 하락장에서의 대응 방식\n");
+        sb.append("- 이익 발생 시 실현 성향\n");
+        sb.append("- 투자 기간(단기 vs 장기)\n");
+        sb.append("- 특정 테마/섹터에 대한 집중 성향\n");
+        sb.append("- 감정적·주관적 표현은 사용하지 말 것\n\n");
+
+        // 4️⃣ 점수 산정 가이드
+        sb.append("점수 산정 가이드:\n");
+        sb.append("- 손실 회피, 단기, 공포 반응 위주면 0~2\n");
+        sb.append("- 장기 보유, 계획 유지, 중립적 반응이면 3~5\n");
+        sb.append("- 하락장 추가 매수, 테마 집중, 공격적 반응이면 6~8\n");
+        sb.append("- 레버리지·극단적 선택 성향이 명확할 경우만 9\n\n");
+
+        // 5️⃣ 출력 형식 강제
+        sb.append("출력 형식:\n");
+        sb.append("- 반드시 정수 하나만 출력\n");
+        sb.append("- 설명, 문장, 기호, 공백, 줄바꿈 없이 숫자만 출력\n");
+        sb.append("- 출력 예시:\n");
+        sb.append("3\n\n");
+
+        // 6️⃣ 실제 사용자 입력
+        sb.append("아래는 사용자의 투자 성향 설문 응답이다.\n");
+
+        sb.append("\n- 사용자 질의:\n");
+        EtfService.appendQaList(sb, request.qaList());
+
+        return sb.toString();
+    }
+
+
+    private String buildFltRtPrompt(EtfRecommendRequest request) {
+        StringBuilder sb = new StringBuilder();
+
+        // 1️⃣ 역할과 목표 명확화
+        sb.append("너는 금융 투자 성향 분석 AI다.\n");
+        sb.append("아래 설문 응답을 바탕으로 사용자가 감내할 수 있는 ");
+        sb.append("시장 변동성 허용 수준(volatility_tolerance)을 하나의 정수 값으로 평가해라.\n\n");
+
+        // 2️⃣ 점수 정의 (신뢰성 핵심)
+        sb.append("평가 기준:\n");
+        sb.append("- 출력 값은 -10000 ~ 10000 사이의 정수\n");
+        sb.append("- 음수일수록 변동성 회피 성향이 강함\n");
+        sb.append("- 0에 가까울수록 중립적 성향\n");
+        sb.append("- 양수일수록 변동성을 감내하거나 선호함\n\n");
+
+        // 3️⃣ 판단 규칙 (AI의 주관 차단)
+        sb.append("판단 규칙:\n");
+        sb.append("- 투자 기간, 손실 상황에서의 반응, 하락장 행동, 이익 실현 성향을 종합적으로 고려\n");
+        sb.append("- 단기 손실에 민감하거나 공포 반응이 강하면 음수 방향으로 평가\n");
+        sb.append("- 하락장에서 추가 매수, 장기 보유, 변동성 감내 행동이 많을수록 양수 방향으로 평가\n");
+        sb.append("- 개인 의견이나 설명 없이 수치만 산출\n\n");
+
+        // 4️⃣ 출력 형식 강제 (매우 중요)
+        sb.append("출력 형식:\n");
+        sb.append("- 반드시 정수 하나만 출력\n");
+        sb.append("- 설명, 문장, 기호, 공백, 줄바꿈 없이 숫자만 출력\n");
+        sb.append("- 예시 출력:\n");
+        sb.append("3500\n\n");
+
+        // 5️⃣ 실제 입력 데이터
+        sb.append("아래는 사용자의 투자 성향 설문 응답이다.\n");
+
+        sb.append("\n- 사용자 질의:\n");
+        EtfService.appendQaList(sb, request.qaList());
+
+        return sb.toString();
+    }
+
+    /**
+     * GPT 응답 문자열에서 정수값을 추출하여 Integer로 반환
+     *
+     * @param gptResult GPT API로부터 받은 문자열
+     * @return Integer 값
+     * @throws IllegalArgumentException 정수를 추출할 수 없는 경우
+     */
+    public static Integer parseIntegerFromGpt(String gptResult) {
+        if (gptResult == null || gptResult.isBlank()) {
+            throw new IllegalArgumentException("GPT result is null or empty");
+        }
+
+        Matcher matcher = INTEGER_PATTERN.matcher(gptResult);
+
+        if (!matcher.find()) {
+            throw new IllegalArgumentException(
+                    "No integer value found in GPT result: " + gptResult
+            );
+        }
+
+        try {
+            return Integer.valueOf(matcher.group());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Failed to parse integer from GPT result: " + gptResult, e
+            );
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 한 번의 (배치) 추천 처리 동안 공유하는 후보 ETF / 프롬프트 접두부
+ *
+ * 같은 설문 점수는 같은 후보를, 같은 후보는 같은 프롬프트 접두부를 쓰므로 한 번만 만든다.
+ * 접두부가 바이트 단위로 같으면 OpenAI 프롬프트 캐시도 적중한다.
+ */
+public class RecommendBatchContext {
+
+    private final Map<Long, List<Etf>> candidatesByScore = new ConcurrentHashMap<>();
+    private final Map<List<Long>, String> promptPrefixByCandidates = new ConcurrentHashMap<>();
+
+    List<Etf> candidates(SurveyScore score, Function<SurveyScore, List<Etf>> loader) {
+        long key = ((long) score.fltRt() << 32) | (score.riskLevel() & 0xFFFFFFFFL);
+        return candidatesByScore.computeIfAbsent(key, k -> loader.apply(score));
+    }
+
+    String promptPrefix(List<Etf> candidates, Function<List<Etf>, String> builder) {
+        List<Long> ids = candidates.stream().map(Etf::getId).toList();
+        return promptPrefixByCandidates.computeIfAbsent(ids, k -> builder.apply(candidates));
+    }
+}
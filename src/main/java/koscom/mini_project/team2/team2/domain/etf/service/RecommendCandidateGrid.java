@@ -0,0 +1,226 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import jakarta.annotation.PreDestroy;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendResponseDto;
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 양자화한 (fltRt, riskLevel) 격자별 추천 후보 사전 계산 테이블
+ *
+ * 설문 점수가 정해지면 후보 ETF는 두 값에만 의존하므로, 격자 칸마다 후보를 미리 계산해 둔다.
+ * 칸별 후보는 ETF 배열의 위치(int)로만 저장한다 (칸 수 x 후보 수 크기의 int 배열 하나).
+ * 격자점에 정확히 떨어지는 점수(설문 가중치 표 점수)만 격자에서 답하고, 그 밖의 점수(GPT 채점 등)는 null → 직접 계산.
+ * 후보 인덱스(EtfCandidateIndex)의 세대가 바뀌면 백그라운드에서 다시 계산하고, 그 전까지는 조회를 미스로 처리한다.
+ *
+ * skeleton 모드(기본 꺼짐)에서는 칸마다 첫 추천 결과의 구조(ETF/비중/점수/성향)를 보관해 두고,
+ * 같은 칸의 다음 설문에는 설명 문구만 새로 생성한다.
+ */
+@Component
+@Slf4j
+public class RecommendCandidateGrid {
+
+    private static final int MIN_FLT_RT = -10000;
+    private static final int MAX_FLT_RT = 10000;
+    private static final int RISK_LEVELS = 10;  // 0~9
+
+    private final EtfCandidateIndex etfCandidateIndex;
+
+    @Value("${etf.recommend.grid.enabled:true}")
+    private boolean enabled;
+
+    @Value("${etf.recommend.grid.flt-rt-step:500}")
+    private int fltRtStep;
+
+    @Value("${etf.recommend.grid.skeleton:false}")
+    private boolean skeletonEnabled;
+
+    private volatile Grid grid;
+
+    private final AtomicBoolean refreshPending = new AtomicBoolean(false);
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "recommend-grid");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public RecommendCandidateGrid(EtfCandidateIndex etfCandidateIndex) {
+        this.etfCandidateIndex = etfCandidateIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        scheduleRefresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEtfChanged(EtfChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 설문 점수가 속한 칸의 후보 (격자가 없거나 오래됐으면 null → 호출 측에서 직접 계산)
+     */
+    public List<Etf> candidates(SurveyScore score) {
+        Grid g = current();
+        if (g == null) return null;
+        int cell = g.cellOf(score);
+        return cell < 0 ? null : g.candidates(cell);
+    }
+
+    /**
+     * 칸에 보관된 추천 구조 (skeleton 모드가 아니거나 아직 없으면 null)
+     */
+    public EtfRecommendResponseDto skeleton(SurveyScore score) {
+        if (!skeletonEnabled) return null;
+        Grid g = current();
+        if (g == null) return null;
+        int cell = g.cellOf(score);
+        return cell < 0 ? null : g.skeletons.get(cell);
+    }
+
+    /**
+     * 추천 결과의 구조만 칸에 보관 (설명 문구는 설문마다 다르므로 제외)
+     */
+    public void putSkeleton(SurveyScore score, EtfRecommendResponseDto result) {
+        if (!skeletonEnabled || result == null) return;
+        Grid g = current();
+        if (g == null) return;
+        int cell = g.cellOf(score);
+        if (cell < 0) return;
+
+        EtfRecommendResponseDto skeleton = new EtfRecommendResponseDto(
+                result.getInvestmentType(),
+                null,
+                result.getEtfRiskScore(),
+                result.getDividendScore(),
+                result.getExpectedTotalReturn(),
+                result.getPortfolioWeights(),
+                result.getEtfs(),
+                null
+        );
+        g.skeletons.compareAndSet(cell, null, skeleton);
+    }
+
+    // 후보 인덱스보다 오래된 격자는 쓰지 않는다
+    private Grid current() {
+        if (!enabled) return null;
+        Grid g = grid;
+        if (g == null || g.generation != etfCandidateIndex.generation()) {
+            scheduleRefresh();
+            return null;
+        }
+        return g;
+    }
+
+    private void scheduleRefresh() {
+        if (!enabled || !refreshPending.compareAndSet(false, true)) return;
+        refresher.execute(() -> {
+            refreshPending.set(false);
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.warn("추천 격자 계산 실패", e);
+            }
+        });
+    }
+
+    void refresh() {
+        if (!etfCandidateIndex.isReady()) return;
+
+        long generation = etfCandidateIndex.generation();
+        int fltRtBuckets = (MAX_FLT_RT - MIN_FLT_RT) / fltRtStep + 1;
+        int k = EtfService.CANDIDATE_COUNT;
+
+        List<Etf> etfs = new ArrayList<>();
+        Map<Long, Integer> positionOf = new HashMap<>();
+        int[] slots = new int[fltRtBuckets * RISK_LEVELS * k];
+        Arrays.fill(slots, -1);
+
+        for (int b = 0; b < fltRtBuckets; b++) {
+            int fltRt = MIN_FLT_RT + b * fltRtStep;
+            for (int riskLevel = 0; riskLevel < RISK_LEVELS; riskLevel++) {
+                int base = (b * RISK_LEVELS + riskLevel) * k;
+                List<Etf> nearest = etfCandidateIndex.nearest(fltRt, riskLevel, k);
+                for (int j = 0; j < nearest.size(); j++) {
+                    Etf etf = nearest.get(j);
+                    slots[base + j] = positionOf.computeIfAbsent(etf.getId(), id -> {
+                        etfs.add(etf);
+                        return etfs.size() - 1;
+                    });
+                }
+            }
+        }
+
+        grid = new Grid(generation, fltRtStep, fltRtBuckets, k, etfs.toArray(new Etf[0]), slots);
+        log.info("추천 격자 계산 완료: {}칸, ETF {}개 (generation={})",
+                fltRtBuckets * RISK_LEVELS, etfs.size(), generation);
+    }
+
+    private static final class Grid {
+
+        final long generation;
+        final int fltRtStep;
+        final int fltRtBuckets;
+        final int k;
+        final Etf[] etfs;
+        final int[] slots;     // 칸 c의 후보 = slots[c*k .. c*k+k), -1은 빈 자리
+        final AtomicReferenceArray<EtfRecommendResponseDto> skeletons;
+
+        Grid(long generation, int fltRtStep, int fltRtBuckets, int k, Etf[] etfs, int[] slots) {
+            this.generation = generation;
+            this.fltRtStep = fltRtStep;
+            this.fltRtBuckets = fltRtBuckets;
+            this.k = k;
+            this.etfs = etfs;
+            this.slots = slots;
+            this.skeletons = new AtomicReferenceArray<>(fltRtBuckets * RISK_LEVELS);
+        }
+
+        // fltRt가 격자점(MIN_FLT_RT + n x fltRtStep)과 정확히 같을 때만 칸 번호, 아니면 -1
+        // (가까운 칸으로 반올림하면 인덱스 직접 조회와 다른 후보가 나올 수 있다)
+        int cellOf(SurveyScore score) {
+            int fltRt = score.fltRt();
+            int riskLevel = score.riskLevel();
+            if (fltRt < MIN_FLT_RT || fltRt > MAX_FLT_RT || riskLevel < 0 || riskLevel >= RISK_LEVELS) {
+                return -1;
+            }
+            if ((fltRt - MIN_FLT_RT) % fltRtStep != 0) {
+                return -1;
+            }
+            int bucket = (fltRt - MIN_FLT_RT) / fltRtStep;
+            if (bucket >= fltRtBuckets) return -1;
+            return bucket * RISK_LEVELS + riskLevel;
+        }
+
+        List<Etf> candidates(int cell) {
+            List<Etf> result = new ArrayList<>(k);
+            for (int j = cell * k; j < cell * k + k; j++) {
+                if (slots[j] < 0) break;
+                result.add(etfs[slots[j]]);
+            }
+            return result;
+        }
+    }
+}
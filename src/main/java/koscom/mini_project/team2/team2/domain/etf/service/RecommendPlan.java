@@ -0,0 +1,11 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+
+import java.util.List;
+
+/**
+ * GPT 호출 직전까지 준비된 추천 요청 (설문 점수, 후보 ETF, 프롬프트)
+ */
+public record RecommendPlan(SurveyScore score, List<Etf> candidates, String prompt) {
+}
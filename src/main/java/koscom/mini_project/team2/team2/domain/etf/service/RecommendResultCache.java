@@ -0,0 +1,159 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendResponseDto;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 설문 응답 지문(fingerprint) 기반 추천 결과 캐시
+ * 키 = 정규화한 QA 목록의 SHA-256 + 카탈로그 버전, LRU + TTL로 제거한다.
+ * 캐시된 결과는 여러 요청이 공유하므로 꺼낸 쪽에서 수정하면 안 된다.
+ */
+@Component
+@Slf4j
+public class RecommendResultCache {
+
+    private final EtfCatalogVersion catalogVersion;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Map<String, CachedResult> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RecommendResultCache(EtfCatalogVersion catalogVersion,
+                                MeterRegistry meterRegistry,
+                                @Value("${etf.recommend.cache.max-size:1000}") int maxSize,
+                                @Value("${etf.recommend.cache.ttl:6h}") Duration ttl) {
+        this.catalogVersion = catalogVersion;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+
+        this.hits = meterRegistry.counter("etf.recommend.cache", "result", "hit");
+        this.misses = meterRegistry.counter("etf.recommend.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("etf.recommend.cache.evictions");
+
+        // accessOrder=true → 조회 순서 기준 LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                boolean evict = size() > RecommendResultCache.this.maxSize;
+                if (evict) evictions.increment();
+                return evict;
+            }
+        };
+        meterRegistry.gaugeMapSize("etf.recommend.cache.size", List.of(), entries);
+    }
+
+    /**
+     * 설문 응답 + 현재 카탈로그 버전으로 캐시 키 생성
+     */
+    public String keyOf(EtfRecommendRequest request) {
+        return fingerprint(request) + ":" + catalogVersion.current();
+    }
+
+    public EtfRecommendResponseDto get(String key) {
+        synchronized (entries) {
+            CachedResult entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    public void put(String key, EtfRecommendResponseDto value) {
+        if (value == null) return;
+        synchronized (entries) {
+            entries.put(key, new CachedResult(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        synchronized (entries) {
+            return new CacheStats(entries.size(), (long) hits.count(), (long) misses.count(), (long) evictions.count());
+        }
+    }
+
+    /**
+     * 카탈로그가 바뀌면 버전 키가 달라지므로 이전 결과는 더 이상 조회되지 않는다.
+     * 메모리를 바로 돌려주기 위해 비운다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEtfChanged(EtfChangedEvent event) {
+        clear();
+        log.info("추천 결과 캐시 초기화 (etfId={})", event.etfId());
+    }
+
+    /**
+     * QA 목록 정규화 후 SHA-256
+     * 공백/대소문자 차이와 문항 순서는 같은 설문으로 본다.
+     */
+    static String fingerprint(EtfRecommendRequest request) {
+        List<String> lines = new ArrayList<>();
+        if (request != null && request.qaList() != null) {
+            for (EtfRecommendRequest.QaItem qa : request.qaList()) {
+                if (qa == null) continue;
+                lines.add(normalize(qa.question()) + "\u001F" + normalize(qa.answer()));
+            }
+        }
+        lines.sort(Comparator.naturalOrder());
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(String s) {
+        if (s == null) return "";
+        return s.strip().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private record CachedResult(EtfRecommendResponseDto value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    public record CacheStats(int size, long hits, long misses, long evictions) {}
+}
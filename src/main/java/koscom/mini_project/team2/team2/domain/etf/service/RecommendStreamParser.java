@@ -0,0 +1,177 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+/**
+ * GPT가 생성 중인 추천 JSON을 조각 단위로 받아, 최상위 필드가 완성되는 즉시 알려주는 파서
+ *
+ * 전체 문서를 다시 파싱하지 않고 이미 본 위치부터 이어서 훑는다.
+ * 최상위 필드는 값이 끝나는 시점에, 지정한 배열 필드(elementField)는 원소가 끝날 때마다 하나씩 전달한다.
+ * 첫 '{' 이전의 텍스트(코드블록 표시 등)는 무시한다.
+ * 전달되는 값은 JSON 원문 그대로이며, 해석은 리스너가 한다.
+ */
+public class RecommendStreamParser {
+
+    public interface Listener {
+
+        /** 최상위 필드 값 완성 (elementField 제외) */
+        void onField(String name, String rawValue);
+
+        /** elementField 배열의 원소 하나 완성 */
+        void onElement(String rawElement);
+    }
+
+    private final Listener listener;
+    private final String elementField;
+    private final StringBuilder text = new StringBuilder();
+
+    private int pos = 0;
+    private int depth = 0;
+    private boolean started = false;
+    private boolean finished = false;
+    private boolean inString = false;
+    private boolean escape = false;
+
+    // depth 1(최상위 객체) 기준 상태
+    private boolean expectingKey = true;
+    private int keyStart = -1;
+    private String currentKey;
+    private int valueStart = -1;
+
+    // elementField 배열 원소 시작 위치
+    private int elementStart = -1;
+
+    public RecommendStreamParser(Listener listener, String elementField) {
+        this.listener = listener;
+        this.elementField = elementField;
+    }
+
+    public void feed(String chunk) {
+        text.append(chunk);
+        while (pos < text.length() && !finished) {
+            consume(text.charAt(pos), pos);
+            pos++;
+        }
+    }
+
+    /** 지금까지 받은 전체 텍스트 (완료 후 전체 문서 파싱용) */
+    public String text() {
+        return text.toString();
+    }
+
+    /** 최상위 객체가 닫혔는지 여부 */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private void consume(char c, int i) {
+        if (!started) {
+            if (c == '{') {
+                started = true;
+                depth = 1;
+            }
+            return;
+        }
+
+        if (inString) {
+            if (escape) {
+                escape = false;
+            } else if (c == '\\') {
+                escape = true;
+            } else if (c == '"') {
+                inString = false;
+                onStringEnd(i);
+            }
+            return;
+        }
+
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                if (depth == 1) {
+                    if (expectingKey) {
+                        keyStart = i;
+                    } else if (valueStart < 0) {
+                        valueStart = i;
+                    }
+                } else if (inElementArray() && elementStart < 0) {
+                    elementStart = i;
+                }
+            }
+            case ':' -> {
+                if (depth == 1) expectingKey = false;
+            }
+            case '{', '[' -> {
+                if (depth == 1 && valueStart < 0) {
+                    valueStart = i;
+                } else if (inElementArray() && elementStart < 0) {
+                    elementStart = i;
+                }
+                depth++;
+            }
+            case '}', ']' -> {
+                // 배열의 마지막 원소가 숫자/리터럴이면 닫는 괄호에서 끝난다
+                if (depth == 2 && inElementArray() && elementStart >= 0) {
+                    emitElement(text.substring(elementStart, i).trim());
+                }
+                depth--;
+                if (depth == 2 && inElementArray() && elementStart >= 0) {
+                    emitElement(text.substring(elementStart, i + 1));
+                } else if (depth == 1 && valueStart >= 0) {
+                    emitField(text.substring(valueStart, i + 1));
+                } else if (depth == 0) {
+                    // 마지막 필드가 숫자/리터럴이면 여기서 끝난다
+                    if (valueStart >= 0) emitField(text.substring(valueStart, i).trim());
+                    finished = true;
+                }
+            }
+            case ',' -> {
+                if (depth == 1) {
+                    if (valueStart >= 0) emitField(text.substring(valueStart, i).trim());
+                    expectingKey = true;
+                } else if (inElementArray() && elementStart >= 0) {
+                    emitElement(text.substring(elementStart, i).trim());
+                }
+            }
+            default -> {
+                // 숫자, true/false/null 시작
+                if (Character.isWhitespace(c)) return;
+                if (depth == 1 && !expectingKey && valueStart < 0) {
+                    valueStart = i;
+                } else if (inElementArray() && elementStart < 0) {
+                    elementStart = i;
+                }
+            }
+        }
+    }
+
+    // 현재 위치가 elementField 배열의 바로 안쪽인지
+    private boolean inElementArray() {
+        return depth == 2 && !expectingKey && elementField.equals(currentKey);
+    }
+
+    private void onStringEnd(int i) {
+        if (inElementArray() && elementStart >= 0 && text.charAt(elementStart) == '"') {
+            emitElement(text.substring(elementStart, i + 1));
+            return;
+        }
+        if (depth != 1) return;
+        if (expectingKey && keyStart >= 0) {
+            currentKey = text.substring(keyStart + 1, i);
+            keyStart = -1;
+        } else if (!expectingKey && valueStart >= 0) {
+            emitField(text.substring(valueStart, i + 1));
+        }
+    }
+
+    private void emitField(String rawValue) {
+        String name = currentKey;
+        valueStart = -1;
+        if (name == null || rawValue.isEmpty() || name.equals(elementField)) return;
+        listener.onField(name, rawValue);
+    }
+
+    private void emitElement(String rawElement) {
+        elementStart = -1;
+        if (rawElement.isEmpty()) return;
+        listener.onElement(rawElement);
+    }
+}
@@ -0,0 +1,98 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.config.StockInterner;
+import koscom.mini_project.team2.team2.domain.etf.dto.StockInternerReport;
+import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 전체 카탈로그를 읽어 Stock 인스턴스 공유 현황과 절감된 힙을 추정한다.
+ * 공유 전 = 참조마다 Stock/문자열을 따로 가진다고 가정, 공유 후 = 실제로 서로 다른 인스턴스만 계산
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StockInternerReportService {
+
+    // 객체 헤더 12 + 참조 3개 x 4 = 24
+    private static final int STOCK_BYTES = 24;
+    // String 객체 24 + byte[] 헤더 16
+    private static final int STRING_BYTES = 24 + 16;
+    private static final int INTEGER_BYTES = 16;
+
+    private final EtfRepository etfRepository;
+
+    public StockInternerReport report() {
+        List<Etf> etfs = etfRepository.findAll();
+
+        Set<Stock> stocks = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        long references = 0;
+        long withoutInterning = 0;
+        long withInterning = 0;
+
+        for (Etf etf : etfs) {
+            if (etf.getStockList() == null) continue;
+            for (Stock stock : etf.getStockList()) {
+                if (stock == null) continue;
+                references++;
+                withoutInterning += STOCK_BYTES
+                        + stringBytes(stock.getName())
+                        + stringBytes(stock.getCat())
+                        + integerBytes(stock.getCat_code());
+
+                if (!stocks.add(stock)) continue;
+                withInterning += STOCK_BYTES;
+                withInterning += sharedBytes(shared, stock.getName(), stringBytes(stock.getName()));
+                withInterning += sharedBytes(shared, stock.getCat(), stringBytes(stock.getCat()));
+                withInterning += sharedBytes(shared, stock.getCat_code(), integerBytes(stock.getCat_code()));
+            }
+        }
+
+        long strings = shared.stream().filter(o -> o instanceof String).count();
+
+        return new StockInternerReport(
+                etfs.size(),
+                references,
+                stocks.size(),
+                strings,
+                StockInterner.size(),
+                withoutInterning,
+                withInterning,
+                withoutInterning - withInterning
+        );
+    }
+
+    private static long sharedBytes(Set<Object> seen, Object value, long bytes) {
+        if (value == null || bytes == 0) return 0;
+        return seen.add(value) ? bytes : 0;
+    }
+
+    // Latin-1이면 1byte/문자, 한글 등이 섞이면 2byte/문자 (compact strings)
+    private static long stringBytes(String s) {
+        if (s == null) return 0;
+        boolean latin1 = s.chars().allMatch(c -> c < 256);
+        long payload = latin1 ? s.length() : s.length() * 2L;
+        return STRING_BYTES + align8(payload);
+    }
+
+    // -128~127은 Integer 캐시를 공유하므로 추가 비용 없음
+    private static long integerBytes(Integer v) {
+        if (v == null || (v >= -128 && v <= 127)) return 0;
+        return INTEGER_BYTES;
+    }
+
+    private static long align8(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,14 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+/**
+ * 설문 채점 결과
+ *
+ * @param fltRt     변동성 허용 수준 (-10000 ~ 10000)
+ * @param riskLevel 감내 가능한 위험 수준 (0 ~ 9)
+ * @param source    채점에 사용된 scorer ("table", "gpt")
+ */
+public record SurveyScore(
+        int fltRt,
+        int riskLevel,
+        String source
+) { }
@@ -0,0 +1,11 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+
+/**
+ * 설문 응답 → (fltRt, riskLevel) 채점기
+ */
+public interface SurveyScorer {
+
+    SurveyScore score(EtfRecommendRequest request);
+}
@@ -0,0 +1,105 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import koscom.mini_project.team2.team2.domain.etf.dto.SurveyScorerBenchmarkResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 기록된 설문으로 가중치 테이블 scorer와 GPT scorer의 지연시간/일치율 비교
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SurveyScorerBenchmark {
+
+    // JIT 워밍업 반복 횟수 (테이블 scorer만)
+    private static final int WARMUP_ROUNDS = 1_000;
+
+    private final WeightTableSurveyScorer tableScorer;
+    private final GptSurveyScorer gptScorer;
+
+    public SurveyScorerBenchmarkResponse run(List<EtfRecommendRequest> surveys) {
+        List<SurveyScorerBenchmarkResponse.Item> items = new ArrayList<>();
+        if (surveys == null || surveys.isEmpty()) {
+            return new SurveyScorerBenchmarkResponse(0, 0, 0, 0, 0, 0, 0, items);
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            tableScorer.tryScore(surveys.get(i % surveys.size()));
+        }
+
+        long tableNanosTotal = 0;
+        long gptMillisTotal = 0;
+        int tableScored = 0;
+        int gptScored = 0;
+        int compared = 0;
+        int exact = 0;
+        int withinOne = 0;
+        long fltRtAbsErrorTotal = 0;
+
+        for (int i = 0; i < surveys.size(); i++) {
+            EtfRecommendRequest survey = surveys.get(i);
+
+            long start = System.nanoTime();
+            Optional<SurveyScore> table = tableScorer.tryScore(survey);
+            long tableNanos = System.nanoTime() - start;
+            tableNanosTotal += tableNanos;
+            if (table.isPresent()) tableScored++;
+
+            SurveyScore gpt = null;
+            String error = null;
+            long gptMillis = 0;
+            try {
+                long gptStart = System.currentTimeMillis();
+                gpt = gptScorer.score(survey);
+                gptMillis = System.currentTimeMillis() - gptStart;
+                gptMillisTotal += gptMillis;
+                gptScored++;
+            } catch (Exception e) {
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+                log.warn("GPT scorer 실패 (benchmark index={}): {}", i, error);
+            }
+
+            if (table.isPresent() && gpt != null) {
+                compared++;
+                int riskDiff = Math.abs(table.get().riskLevel() - gpt.riskLevel());
+                if (riskDiff == 0) exact++;
+                if (riskDiff <= 1) withinOne++;
+                fltRtAbsErrorTotal += Math.abs(table.get().fltRt() - gpt.fltRt());
+            }
+
+            items.add(new SurveyScorerBenchmarkResponse.Item(
+                    i,
+                    table.map(SurveyScore::fltRt).orElse(null),
+                    table.map(SurveyScore::riskLevel).orElse(null),
+                    tableNanos,
+                    gpt != null ? gpt.fltRt() : null,
+                    gpt != null ? gpt.riskLevel() : null,
+                    gptMillis,
+                    error
+            ));
+        }
+
+        SurveyScorerBenchmarkResponse response = new SurveyScorerBenchmarkResponse(
+                surveys.size(),
+                tableScored,
+                tableNanosTotal / 1_000.0 / surveys.size(),
+                gptScored == 0 ? 0 : (double) gptMillisTotal / gptScored,
+                compared == 0 ? 0 : (double) exact / compared,
+                compared == 0 ? 0 : (double) withinOne / compared,
+                compared == 0 ? 0 : (double) fltRtAbsErrorTotal / compared,
+                items
+        );
+
+        log.info("설문 scorer 벤치마크: surveys={}, table={}us, gpt={}ms, riskLevel 일치율={}",
+                response.totalSurveys(), response.tableAvgMicros(), response.gptAvgMillis(),
+                response.riskLevelExactAgreement());
+        return response;
+    }
+}
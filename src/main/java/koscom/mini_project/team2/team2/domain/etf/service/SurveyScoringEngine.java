@@ -0,0 +1,51 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * 설문 채점 엔진
+ * etf.survey.scorer=table(기본)이면 가중치 테이블로 먼저 채점하고,
+ * 테이블로 채점할 수 없는 설문만 GPT scorer로 넘긴다.
+ */
+@Service
+@Slf4j
+public class SurveyScoringEngine implements SurveyScorer {
+
+    private final WeightTableSurveyScorer tableScorer;
+    private final GptSurveyScorer gptScorer;
+
+    @Value("${etf.survey.scorer:table}")
+    private String scorerType;
+
+    @Value("${etf.survey.gpt-fallback:true}")
+    private boolean gptFallback;
+
+    public SurveyScoringEngine(WeightTableSurveyScorer tableScorer, GptSurveyScorer gptScorer) {
+        this.tableScorer = tableScorer;
+        this.gptScorer = gptScorer;
+    }
+
+    @Override
+    public SurveyScore score(EtfRecommendRequest request) {
+        if ("gpt".equalsIgnoreCase(scorerType)) {
+            return gptScorer.score(request);
+        }
+
+        Optional<SurveyScore> local = tableScorer.tryScore(request);
+        if (local.isPresent()) {
+            return local.get();
+        }
+
+        if (!gptFallback) {
+            throw new IllegalArgumentException("가중치 테이블로 채점할 수 없는 설문입니다.");
+        }
+
+        log.info("가중치 테이블 미매칭 설문 - GPT scorer로 채점");
+        return gptScorer.score(request);
+    }
+}
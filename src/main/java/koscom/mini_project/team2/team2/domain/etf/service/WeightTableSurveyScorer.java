@@ -0,0 +1,148 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 문항/보기별 가중치 테이블 기반 설문 채점기
+ * 테이블에 없는 문항이나 보기(자유 서술형 응답)가 하나라도 있으면 채점하지 않는다.
+ */
+@Component
+@Slf4j
+public class WeightTableSurveyScorer implements SurveyScorer {
+
+    private static final int MIN_FLT_RT = -10000;
+    private static final int MAX_FLT_RT = 10000;
+    private static final int MIN_RISK_LEVEL = 0;
+    private static final int MAX_RISK_LEVEL = 9;
+
+    private final int baseFltRt;
+    private final int baseRiskLevel;
+    private final List<CompiledQuestion> questions;
+
+    public WeightTableSurveyScorer(
+            ObjectMapper objectMapper,
+            @Value("${etf.survey.weight-table:classpath:survey/survey-weights.json}") Resource weightTable) {
+
+        WeightTable table;
+        try (InputStream in = weightTable.getInputStream()) {
+            table = objectMapper.readValue(in, WeightTable.class);
+        } catch (Exception e) {
+            log.error("설문 가중치 테이블 로드 실패 - 모든 설문은 fallback scorer로 처리됩니다.", e);
+            table = new WeightTable(0, 0, List.of());
+        }
+
+        this.baseFltRt = table.baseFltRt();
+        this.baseRiskLevel = table.baseRiskLevel();
+        this.questions = compile(table);
+        log.info("설문 가중치 테이블 로드 완료: 문항 {}개", questions.size());
+    }
+
+    @Override
+    public SurveyScore score(EtfRecommendRequest request) {
+        return tryScore(request)
+                .orElseThrow(() -> new IllegalArgumentException("가중치 테이블로 채점할 수 없는 설문입니다."));
+    }
+
+    /**
+     * 모든 응답이 테이블에 매칭될 때만 점수를 반환
+     */
+    public Optional<SurveyScore> tryScore(EtfRecommendRequest request) {
+        if (request == null || request.qaList() == null || request.qaList().isEmpty()) {
+            return Optional.empty();
+        }
+
+        long fltRt = baseFltRt;
+        int riskLevel = baseRiskLevel;
+        int scored = 0;
+
+        for (EtfRecommendRequest.QaItem qa : request.qaList()) {
+            if (qa == null) continue;
+
+            CompiledQuestion question = findQuestion(normalize(qa.question()));
+            if (question == null) {
+                return Optional.empty();
+            }
+            if (question.ignored()) {
+                continue;
+            }
+
+            Weight weight = question.answers().get(normalize(qa.answer()));
+            if (weight == null) {
+                return Optional.empty();
+            }
+
+            fltRt += weight.fltRt();
+            riskLevel += weight.riskLevel();
+            scored++;
+        }
+
+        if (scored == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new SurveyScore(
+                (int) Math.max(MIN_FLT_RT, Math.min(MAX_FLT_RT, fltRt)),
+                Math.max(MIN_RISK_LEVEL, Math.min(MAX_RISK_LEVEL, riskLevel)),
+                "table"
+        ));
+    }
+
+    private CompiledQuestion findQuestion(String normalizedQuestion) {
+        for (CompiledQuestion question : questions) {
+            for (String keyword : question.keywords()) {
+                if (normalizedQuestion.contains(keyword)) {
+                    return question;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<CompiledQuestion> compile(WeightTable table) {
+        List<CompiledQuestion> compiled = new ArrayList<>();
+        if (table.questions() == null) return compiled;
+
+        for (QuestionWeights q : table.questions()) {
+            List<String> keywords = q.keywords() == null ? List.of()
+                    : q.keywords().stream().map(WeightTableSurveyScorer::normalize).toList();
+
+            Map<String, Weight> answers = new HashMap<>();
+            if (q.answers() != null) {
+                for (AnswerWeight a : q.answers()) {
+                    answers.put(normalize(a.match()), new Weight(a.fltRt(), a.riskLevel()));
+                }
+            }
+            compiled.add(new CompiledQuestion(keywords, q.ignored(), answers));
+        }
+        return compiled;
+    }
+
+    // 공백/대소문자 차이는 같은 보기로 본다
+    private static String normalize(String s) {
+        if (s == null) return "";
+        return s.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    private record CompiledQuestion(List<String> keywords, boolean ignored, Map<String, Weight> answers) {}
+
+    private record Weight(int fltRt, int riskLevel) {}
+
+    // survey-weights.json 매핑
+    record WeightTable(int baseFltRt, int baseRiskLevel, List<QuestionWeights> questions) {}
+
+    record QuestionWeights(List<String> keywords, boolean ignored, List<AnswerWeight> answers) {}
+
+    record AnswerWeight(String match, int fltRt, int riskLevel) {}
+}
@@ -1,7 +1,7 @@
 package koscom.mini_project.team2.team2.domain.news.controller;
 
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
-import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfLookupCache;
 import koscom.mini_project.team2.team2.domain.news.dto.*;
 import koscom.mini_project.team2.team2.domain.news.entity.EtfNews;
 import koscom.mini_project.team2.team2.domain.news.service.NewsAnalysisService;
@@ -23,7 +23,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class EtfAlertController {
 
-    private final EtfRepository etfRepository;
+    private final EtfLookupCache etfLookupCache;
     private final NewsCollectorService newsCollector;
     private final NewsAnalysisService newsAnalysis;
     private final NotificationService notificationService;
@@ -39,7 +39,7 @@ public class EtfAlertController {
 
         try {
             // 1. ETF 조회
-            Etf etf = etfRepository.findByName(request.getEtfName())
+            Etf etf = etfLookupCache.findByName(request.getEtfName())
                     .orElseThrow(() -> new RuntimeException("ETF를 찾을 수 없습니다: " + request.getEtfName()));
 
             // 2. 뉴스 수집
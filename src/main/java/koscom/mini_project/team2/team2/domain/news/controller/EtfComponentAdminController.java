@@ -4,6 +4,7 @@ import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
 import koscom.mini_project.team2.team2.domain.news.entity.EtfComponent;
 import koscom.mini_project.team2.team2.domain.news.repository.EtfComponentRepository;
 import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfLookupCache;
 import koscom.mini_project.team2.team2.domain.news.service.EtfComponentInitializer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,6 +23,7 @@ public class EtfComponentAdminController {
     private final EtfComponentInitializer initializer;
     private final EtfComponentRepository repository;
     private final EtfRepository etfRepository;
+    private final EtfLookupCache etfLookupCache;
 
     /**
      * 모든 ETF 구성종목 초기화
@@ -54,7 +56,7 @@ public class EtfComponentAdminController {
      */
     @GetMapping("/{etfId}")
     public ResponseEntity<Map<String, Object>> getComponents(@PathVariable Long etfId) {
-        Etf etf = etfRepository.findById(etfId)
+        Etf etf = etfLookupCache.findById(etfId)
                 .orElseThrow(() -> new RuntimeException("ETF를 찾을 수 없습니다."));
 
         List<EtfComponent> components = repository.findByEtfIdOrderByWeightDesc(etfId);
@@ -1,5 +1,6 @@
 package koscom.mini_project.team2.team2.domain.news.controller;
 
+import koscom.mini_project.team2.team2.domain.news.service.PortfolioExposureService;
 import koscom.mini_project.team2.team2.domain.news.service.PortfolioInitializer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,7 @@ import java.util.Map;
 public class PortfolioAdminController {
 
     private final PortfolioInitializer portfolioInitializer;
+    private final PortfolioExposureService exposureService;
 
     /**
      * 테스트용 포트폴리오 생성
@@ -35,4 +37,19 @@ public class PortfolioAdminController {
             ));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 전체 포트폴리오 노출도 일괄 계산 (야간 배치 트리거)
+     * POST /api/admin/portfolio/exposure/batch
+     */
+    @PostMapping("/exposure/batch")
+    public ResponseEntity<?> computeAllExposures() {
+        long start = System.currentTimeMillis();
+        int count = exposureService.getAllExposures().size();
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "portfolios", count,
+                "elapsedMs", System.currentTimeMillis() - start
+        ));
+    }
+}
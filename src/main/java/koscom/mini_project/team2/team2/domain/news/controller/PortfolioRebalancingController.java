@@ -1,8 +1,10 @@
 package koscom.mini_project.team2.team2.domain.news.controller;
 
+import jakarta.persistence.EntityNotFoundException;
 import koscom.mini_project.team2.team2.domain.news.dto.ErrorResponse;
 import koscom.mini_project.team2.team2.domain.news.dto.RebalancingRequest;
 import koscom.mini_project.team2.team2.domain.news.dto.RebalancingResponse;
+import koscom.mini_project.team2.team2.domain.news.service.PortfolioExposureService;
 import koscom.mini_project.team2.team2.domain.news.service.RebalancingNotificationService;
 import koscom.mini_project.team2.team2.domain.news.service.RebalancingService;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ public class PortfolioRebalancingController {
 
     private final RebalancingService rebalancingService;
     private final RebalancingNotificationService notificationService;
+    private final PortfolioExposureService exposureService;
 
     /**
      * 포트폴리오 리밸런싱 분석 및 알림
@@ -80,4 +83,22 @@ public class PortfolioRebalancingController {
 
         return analyzeRebalancing(request);
     }
-}
\ No newline at end of file
+
+    /**
+     * 포트폴리오 look-through 노출도 (종목별/카테고리별)
+     * GET /api/portfolio/{portfolioId}/exposure
+     */
+    @GetMapping("/{portfolioId}/exposure")
+    public ResponseEntity<?> getExposure(@PathVariable Long portfolioId) {
+        try {
+            return ResponseEntity.ok(exposureService.getExposure(portfolioId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ErrorResponse.builder()
+                            .status("ERROR")
+                            .message(e.getMessage())
+                            .timestamp(LocalDateTime.now())
+                            .build());
+        }
+    }
+}
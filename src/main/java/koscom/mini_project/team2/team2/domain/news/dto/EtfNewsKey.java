@@ -0,0 +1,10 @@
+package koscom.mini_project.team2.team2.domain.news.dto;
+
+/**
+ * 뉴스 중복 판정용 경량 프로젝션 (url, 제목만)
+ */
+public record EtfNewsKey(
+        String url,
+        String title
+) {
+}
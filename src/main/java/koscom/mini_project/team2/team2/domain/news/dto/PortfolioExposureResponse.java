@@ -0,0 +1,36 @@
+package koscom.mini_project.team2.team2.domain.news.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 포트폴리오 look-through 노출도 (단위: %)
+ * coveredWeight = 구성종목으로 풀어낸 비중, uncoveredWeight = 구성종목이 공개되지 않은 나머지
+ */
+@Getter
+@Builder
+public class PortfolioExposureResponse {
+    private Long portfolioId;
+    private Double totalWeight;
+    private Double coveredWeight;
+    private Double uncoveredWeight;
+    private List<StockExposure> stocks;         // 노출도 높은 순
+    private List<CategoryExposure> categories;  // ETF 카테고리별 배분 비중
+
+    @Getter
+    @Builder
+    public static class StockExposure {
+        private String stockCode;
+        private String stockName;
+        private Double weight;
+    }
+
+    @Getter
+    @Builder
+    public static class CategoryExposure {
+        private String category;
+        private Double weight;
+    }
+}
@@ -1,6 +1,7 @@
 package koscom.mini_project.team2.team2.domain.news.entity;
 
 import jakarta.persistence.*;
+import koscom.mini_project.team2.team2.config.IdSequenceTable;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -13,8 +14,16 @@ import java.time.LocalDateTime;
 @Builder
 @Table(name = "etf_news")
 public class EtfNews {
+    // IDENTITY 대신 채번 테이블 (saveAll 배치 insert 가능)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "etf_news_id")
+    @TableGenerator(
+            name = "etf_news_id",
+            table = IdSequenceTable.TABLE,
+            pkColumnName = IdSequenceTable.PK_COLUMN,
+            valueColumnName = IdSequenceTable.VALUE_COLUMN,
+            pkColumnValue = "etf_news",
+            allocationSize = IdSequenceTable.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -1,9 +1,13 @@
 package koscom.mini_project.team2.team2.domain.news.repository;
 
+import koscom.mini_project.team2.team2.domain.news.dto.EtfNewsKey;
 import koscom.mini_project.team2.team2.domain.news.entity.EtfNews;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EtfNewsRepository extends JpaRepository<EtfNews, Long> {
@@ -11,4 +15,15 @@ public interface EtfNewsRepository extends JpaRepository<EtfNews, Long> {
     List<EtfNews> findByEtfIdOrderByPublishedAtDesc(Long etfId, Pageable pageable);
     boolean existsByEtfIdAndUrl(Long etfId, String url);
     boolean existsByEtfIdAndTitle(Long etfId, String title);
+
+    // 수집 배치 중복 판정 - url 또는 제목이 이미 있는 뉴스를 한 번에 조회
+    @Query("""
+            select new koscom.mini_project.team2.team2.domain.news.dto.EtfNewsKey(n.url, n.title)
+            from EtfNews n
+            where n.etfId = :etfId
+              and (n.url in :urls or n.title in :titles)
+            """)
+    List<EtfNewsKey> findExistingKeys(@Param("etfId") Long etfId,
+                                      @Param("urls") Collection<String> urls,
+                                      @Param("titles") Collection<String> titles);
 }
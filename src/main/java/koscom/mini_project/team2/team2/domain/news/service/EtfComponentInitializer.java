@@ -1,11 +1,13 @@
 package koscom.mini_project.team2.team2.domain.news.service;
 
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfComponentsChangedEvent;
 import koscom.mini_project.team2.team2.domain.news.entity.EtfComponent;
 import koscom.mini_project.team2.team2.domain.news.repository.EtfComponentRepository;
-import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfLookupCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +20,8 @@ import java.util.List;
 public class EtfComponentInitializer {
 
     private final EtfComponentRepository etfComponentRepository;
-    private final EtfRepository etfRepository;
+    private final EtfLookupCache etfLookupCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * ETF 구성종목 초기 데이터 세팅
@@ -50,7 +53,7 @@ public class EtfComponentInitializer {
      * 1. KODEX 200 (국내 대표 ETF)
      */
     private void initializeKodex200() {
-        Etf etf = etfRepository.findByName("KODEX 200").orElse(null);
+        Etf etf = etfLookupCache.findByName("KODEX 200").orElse(null);
         if (etf == null) {
             log.warn("KODEX 200 ETF를 찾을 수 없습니다.");
             return;
@@ -73,6 +76,7 @@ public class EtfComponentInitializer {
         );
 
         etfComponentRepository.saveAll(components);
+        eventPublisher.publishEvent(EtfComponentsChangedEvent.of(etf.getId()));
         log.info("KODEX 200 구성종목 {} 건 등록 완료", components.size());
     }
 
@@ -80,7 +84,7 @@ public class EtfComponentInitializer {
      * 2. TIGER 미국S&P500 (해외 ETF)
      */
     private void initializeTigerSP500() {
-        Etf etf = etfRepository.findByName("TIGER 미국S&P500").orElse(null);
+        Etf etf = etfLookupCache.findByName("TIGER 미국S&P500").orElse(null);
         if (etf == null) {
             log.warn("TIGER 미국S&P500 ETF를 찾을 수 없습니다.");
             return;
@@ -104,6 +108,7 @@ public class EtfComponentInitializer {
         );
 
         etfComponentRepository.saveAll(components);
+        eventPublisher.publishEvent(EtfComponentsChangedEvent.of(etf.getId()));
         log.info("TIGER 미국S&P500 구성종목 {} 건 등록 완료", components.size());
     }
 
@@ -111,7 +116,7 @@ public class EtfComponentInitializer {
      * 3. KODEX 레버리지 (변동성 높은 ETF)
      */
     private void initializeKodexLeverage() {
-        Etf etf = etfRepository.findByName("KODEX 레버리지").orElse(null);
+        Etf etf = etfLookupCache.findByName("KODEX 레버리지").orElse(null);
         if (etf == null) {
             log.warn("KODEX 레버리지 ETF를 찾을 수 없습니다.");
             return;
@@ -135,6 +140,7 @@ public class EtfComponentInitializer {
         );
 
         etfComponentRepository.saveAll(components);
+        eventPublisher.publishEvent(EtfComponentsChangedEvent.of(etf.getId()));
         log.info("KODEX 레버리지 구성종목 {} 건 등록 완료", components.size());
     }
 
@@ -142,7 +148,7 @@ public class EtfComponentInitializer {
      * 4. TIGER 2차전지테마 (테마형 ETF)
      */
     private void initializeTigerBattery() {
-        Etf etf = etfRepository.findByName("TIGER 2차전지테마").orElse(null);
+        Etf etf = etfLookupCache.findByName("TIGER 2차전지테마").orElse(null);
         if (etf == null) {
             log.warn("TIGER 2차전지테마 ETF를 찾을 수 없습니다.");
             return;
@@ -164,6 +170,7 @@ public class EtfComponentInitializer {
         );
 
         etfComponentRepository.saveAll(components);
+        eventPublisher.publishEvent(EtfComponentsChangedEvent.of(etf.getId()));
         log.info("TIGER 2차전지테마 구성종목 {} 건 등록 완료", components.size());
     }
 
@@ -171,7 +178,7 @@ public class EtfComponentInitializer {
      * 5. KODEX 코스닥150 (코스닥 대표 ETF)
      */
     private void initializeKodexKosdaq150() {
-        Etf etf = etfRepository.findByName("KODEX 코스닥150").orElse(null);
+        Etf etf = etfLookupCache.findByName("KODEX 코스닥150").orElse(null);
         if (etf == null) {
             log.warn("KODEX 코스닥150 ETF를 찾을 수 없습니다.");
             return;
@@ -193,6 +200,7 @@ public class EtfComponentInitializer {
         );
 
         etfComponentRepository.saveAll(components);
+        eventPublisher.publishEvent(EtfComponentsChangedEvent.of(etf.getId()));
         log.info("KODEX 코스닥150 구성종목 {} 건 등록 완료", components.size());
     }
 
@@ -0,0 +1,96 @@
+package koscom.mini_project.team2.team2.domain.news.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 종목 단위 KOSCOM 뉴스 캐시 (jcode, 조회 기간) → 파싱된 뉴스 목록
+ *
+ * 같은 종목을 가진 ETF가 여러 개여도 TTL 안에서는 KOSCOM을 한 번만 호출한다.
+ * 캐시 값은 Mono.cache()라서 진행 중인 호출도 공유된다 (single-flight, 동시 요청이 같은 호출을 기다림).
+ * 실패한 호출은 캐시에서 바로 빼서 다음 요청이 다시 시도하게 한다.
+ */
+@Component
+@Slf4j
+class KoscomNewsCache {
+
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    KoscomNewsCache(MeterRegistry meterRegistry,
+                    @Value("${koscom.news.cache.ttl:5m}") Duration ttl,
+                    @Value("${koscom.news.cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("koscom.news.cache", "result", "hit");
+        this.misses = meterRegistry.counter("koscom.news.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("koscom.news.cache.size", List.of(), entries);
+    }
+
+    /**
+     * 캐시에 있으면 공유 Mono를, 없거나 만료됐으면 loader로 새로 만들어 돌려준다.
+     */
+    Mono<List<KoscomNewsItem>> get(String jcode, String sdate, String edate,
+                                   Supplier<Mono<List<KoscomNewsItem>>> loader) {
+        String key = jcode + ":" + sdate + ":" + edate;
+        long now = System.nanoTime();
+
+        Entry current = entries.get(key);
+        if (current != null && !current.isExpired(now)) {
+            hits.increment();
+            return current.value;
+        }
+
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> e.isExpired(now));
+        }
+
+        boolean[] created = {false};
+        Entry entry = entries.compute(key, (k, old) -> {
+            if (old != null && !old.isExpired(now)) return old;
+            created[0] = true;
+            return new Entry(k, loader.get(), now + ttlNanos);
+        });
+        (created[0] ? misses : hits).increment();
+        return entry.value;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private final class Entry {
+
+        final Mono<List<KoscomNewsItem>> value;
+        final long expiresAt;
+
+        Entry(String key, Mono<List<KoscomNewsItem>> source, long expiresAt) {
+            this.expiresAt = expiresAt;
+            this.value = source
+                    .doOnError(e -> {
+                        entries.remove(key, this);
+                        log.debug("KOSCOM 뉴스 캐시 항목 제거 (호출 실패): {}", key);
+                    })
+                    .cache();
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import koscom.mini_project.team2.team2.config.TokenBucketRateLimiter;
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
+import koscom.mini_project.team2.team2.domain.news.dto.EtfNewsKey;
 import koscom.mini_project.team2.team2.domain.news.entity.EtfComponent;
 import koscom.mini_project.team2.team2.domain.news.entity.EtfNews;
 import koscom.mini_project.team2.team2.domain.news.repository.EtfComponentRepository;
@@ -22,7 +24,10 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -32,22 +37,39 @@ import java.util.*;
 @Slf4j
 public class NewsCollectorService {
 
+    // rate limiter 버킷 키 (rate-limit.koscom-news.rate / burst)
+    static final String KOSCOM_NEWS_API = "koscom-news";
+
     @Value("${koscom.cust-id}")
     private String koscomCustId;
 
     @Value("${koscom.auth-key}")
     private String koscomAuthKey;
 
+    // 종목별 KOSCOM 동시 호출 수 (1이면 순차)
+    @Value("${koscom.news.concurrency:5}")
+    private int concurrency;
+
+    // 종목 한 건 호출 대기 한도 (넘으면 해당 종목은 빈 결과)
+    @Value("${koscom.news.request-timeout:10s}")
+    private Duration requestTimeout;
+
     private final EtfNewsRepository etfNewsRepository;
     private final EtfComponentRepository etfComponentRepository;
     private final WebClient webClient;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final KoscomNewsCache newsCache;
 
     public NewsCollectorService(EtfNewsRepository etfNewsRepository,
                                 EtfComponentRepository etfComponentRepository,
-                                WebClient.Builder webClientBuilder) {
+                                WebClient.Builder webClientBuilder,
+                                TokenBucketRateLimiter rateLimiter,
+                                KoscomNewsCache newsCache) {
         this.etfNewsRepository = etfNewsRepository;
         this.etfComponentRepository = etfComponentRepository;
         this.webClient = webClientBuilder.build();
+        this.rateLimiter = rateLimiter;
+        this.newsCache = newsCache;
     }
 
     /**
@@ -82,31 +104,27 @@ public class NewsCollectorService {
 
         log.info("조회 기간: {} ~ {}", sdate, edate);
 
+        // 3. 종목별 KOSCOM 호출은 동시에 (최대 concurrency개, 전체 호출량은 rate limiter로 제한), 결과는 종목 순서대로 모은다
+        List<EtfComponent> targets = components.subList(0, maxComponents);
+        List<List<KoscomNewsItem>> fetched = Flux.fromIterable(targets)
+                .flatMapSequential(c -> fetchNewsFromKoscom(c.getStockCode(), sdate, edate),
+                        Math.max(1, concurrency))
+                .collectList()
+                .block();
+
+        // 4. 저장은 호출 스레드에서 종목 순서대로 (JPA는 리액터 스레드에서 쓰지 않는다)
         for (int i = 0; i < maxComponents; i++) {
-            EtfComponent component = components.get(i);
-            log.info("----------------------------------------");
-            log.info("종목 뉴스 수집 [{}/{}]: {} ({})",
-                    i + 1, maxComponents, component.getStockName(), component.getStockCode());
+            EtfComponent component = targets.get(i);
+            List<KoscomNewsItem> newsItems = fetched != null && i < fetched.size() ? fetched.get(i) : List.of();
+            log.info("종목 뉴스 [{}/{}]: {} ({}) - 수집 {}건",
+                    i + 1, maxComponents, component.getStockName(), component.getStockCode(), newsItems.size());
 
             try {
-                List<KoscomNewsItem> newsItems = collectNewsFromKoscom(
-                        component.getStockCode(),
-                        sdate,
-                        edate
-                );
-
-                log.info("수집된 뉴스: {}건", newsItems.size());
-
                 List<EtfNews> savedNews = saveNewsItems(etf, component, newsItems);
                 allNews.addAll(savedNews);
-
                 log.info("저장된 뉴스: {}건", savedNews.size());
-
-                // API 호출 제한 고려 (필요시)
-                Thread.sleep(100);
-
             } catch (Exception e) {
-                log.error("종목 뉴스 수집 실패: {} - {}", component.getStockName(), e.getMessage());
+                log.error("종목 뉴스 저장 실패: {} - {}", component.getStockName(), e.getMessage());
                 log.error("에러 상세:", e);
             }
         }
@@ -118,72 +136,55 @@ public class NewsCollectorService {
     }
 
     /**
-     * KOSCOM API로 종목별 뉴스 수집
+     * 종목별 뉴스 조회 (블로킹 없이 Mono로 반환, 실패 시 빈 목록)
+     * 같은 종목/기간은 다른 ETF 수집에서도 캐시를 공유하므로 KOSCOM 호출과 rate limiter 토큰은 캐시 miss일 때만 쓴다.
      */
-    private List<KoscomNewsItem> collectNewsFromKoscom(String jcode, String sdate, String edate) {
-        log.info(">>> KOSCOM API 호출 준비");
-        log.info(">>> cust_id: {}", koscomCustId != null && !koscomCustId.isEmpty() ? "존재" : "없음");
-        log.info(">>> auth_key: {}", koscomAuthKey != null && !koscomAuthKey.isEmpty() ? "존재 (길이: " + koscomAuthKey.length() + ")" : "없음");
-        log.info(">>> jcode: {}", jcode);
-        log.info(">>> sdate: {}", sdate);
-        log.info(">>> edate: {}", edate);
-
-        try {
-            Map<String, String> requestBody = Map.of(
-                    "cust_id", koscomCustId,
-                    "auth_key", koscomAuthKey,
-                    "jcode", jcode,
-                    "sdate", sdate,
-                    "edate", edate,
-                    "dcnt", "20"
-            );
-
-            log.info(">>> 요청 바디: {}", requestBody);
-            log.info(">>> API 엔드포인트: https://checkapi.koscom.co.kr/news/news/news_jong");
-            log.info(">>> Content-Type: application/x-www-form-urlencoded");
-
-            log.info(">>> WebClient POST 요청 시작...");
-
-            String response = webClient.post()
-                    .uri("https://checkapi.koscom.co.kr/news/news/news_jong")
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .body(BodyInserters.fromFormData(convertToMultiValueMap(requestBody)))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .doOnSubscribe(s -> log.info(">>> 구독 시작"))
-                    .doOnNext(r -> log.info(">>> 응답 수신: {} bytes", r != null ? r.length() : 0))
-                    .doOnError(e -> {
-                        log.error(">>> 에러 발생: {}", e.getClass().getName());
-                        log.error(">>> 에러 메시지: {}", e.getMessage());
-                        if (e instanceof WebClientResponseException) {
-                            WebClientResponseException wcre = (WebClientResponseException) e;
-                            log.error(">>> HTTP 상태: {}", wcre.getStatusCode());
-                            log.error(">>> 응답 바디: {}", wcre.getResponseBodyAsString());
-                            log.error(">>> 응답 헤더: {}", wcre.getHeaders());
-                        }
-                    })
-                    .block();
-
-            log.info(">>> API 호출 완료");
-
-            if (response == null || response.isEmpty()) {
-                log.warn(">>> KOSCOM API 응답이 비어있습니다.");
-                return Collections.emptyList();
-            }
-
-            log.info(">>> 응답 길이: {} bytes", response.length());
-            log.info(">>> 응답 내용 (처음 500자): {}",
-                    response.length() > 500 ? response.substring(0, 500) + "..." : response);
-
-            return parseKoscomResponse(response);
+    private Mono<List<KoscomNewsItem>> fetchNewsFromKoscom(String jcode, String sdate, String edate) {
+        return newsCache.get(jcode, sdate, edate,
+                        () -> rateLimiter.acquire(KOSCOM_NEWS_API)
+                                .then(Mono.defer(() -> requestNewsFromKoscom(jcode, sdate, edate).timeout(requestTimeout))))
+                .onErrorResume(e -> {
+                    log.error(">>> KOSCOM API 호출 실패 (jcode={}): {} - {}", jcode, e.getClass().getName(), e.getMessage());
+                    if (e instanceof WebClientResponseException wcre) {
+                        log.error(">>> HTTP 상태: {}", wcre.getStatusCode());
+                        log.error(">>> 응답 바디: {}", wcre.getResponseBodyAsString());
+                    }
+                    return Mono.just(Collections.emptyList());
+                });
+    }
 
-        } catch (Exception e) {
-            log.error(">>> KOSCOM API 호출 중 예외 발생");
-            log.error(">>> 예외 타입: {}", e.getClass().getName());
-            log.error(">>> 예외 메시지: {}", e.getMessage());
-            log.error(">>> 스택 트레이스:", e);
-            return Collections.emptyList();
-        }
+    /**
+     * KOSCOM API 호출 (실패는 에러 신호로 그대로 전달해 캐시에 남지 않게 한다)
+     * 빈 응답, success=false, 형식이 깨진 응답도 에러 - 정상 응답의 빈 results만 빈 목록으로 캐시된다.
+     */
+    private Mono<List<KoscomNewsItem>> requestNewsFromKoscom(String jcode, String sdate, String edate) {
+        log.info(">>> KOSCOM API 호출: jcode={}, {} ~ {}", jcode, sdate, edate);
+
+        Map<String, String> requestBody = Map.of(
+                "cust_id", koscomCustId,
+                "auth_key", koscomAuthKey,
+                "jcode", jcode,
+                "sdate", sdate,
+                "edate", edate,
+                "dcnt", "20"
+        );
+
+        return webClient.post()
+                .uri("https://checkapi.koscom.co.kr/news/news/news_jong")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData(convertToMultiValueMap(requestBody)))
+                .retrieve()
+                .bodyToMono(String.class)
+                .doOnNext(r -> log.info(">>> 응답 수신 (jcode={}): {} bytes", jcode, r != null ? r.length() : 0))
+                .map(response -> {
+                    if (response.isEmpty()) {
+                        throw new KoscomResponseException("KOSCOM API 응답이 비어있습니다. jcode=" + jcode);
+                    }
+                    log.debug(">>> 응답 내용 (처음 500자): {}",
+                            response.length() > 500 ? response.substring(0, 500) + "..." : response);
+                    return parseKoscomResponse(response);
+                })
+                .switchIfEmpty(Mono.error(() -> new KoscomResponseException("KOSCOM API 응답이 비어있습니다. jcode=" + jcode)));
     }
 
     private MultiValueMap<String, String> convertToMultiValueMap(Map<String, String> map) {
@@ -194,6 +195,7 @@ public class NewsCollectorService {
 
     /**
      * KOSCOM API 응답 파싱 (null-safe 버전)
+     * 정상 응답이 아니면(success 없음/false, results 없음, JSON 오류) KoscomResponseException
      */
     private List<KoscomNewsItem> parseKoscomResponse(String jsonResponse) {
         log.info(">>> 응답 파싱 시작");
@@ -207,10 +209,9 @@ public class NewsCollectorService {
             log.info(">>> JSON 파싱 완료");
 
             // success 필드 확인
-            if (root.get("success") == null) {
-                log.error(">>> 'success' 필드가 없음");
-                log.error(">>> 응답 구조: {}", root.keySet());
-                return Collections.emptyList();
+            if (root == null || root.get("success") == null) {
+                throw new KoscomResponseException("KOSCOM API 응답에 'success' 필드가 없습니다: "
+                        + (root != null ? root.keySet() : "null"));
             }
 
             boolean success = root.get("success").getAsBoolean();
@@ -220,19 +221,15 @@ public class NewsCollectorService {
                 if (root.has("message")) {
                     JsonObject message = root.getAsJsonObject("message");
                     String errorMsg = message.has("desc") ? message.get("desc").getAsString() : "알 수 없는 오류";
-                    log.error(">>> KOSCOM API 오류: {}", errorMsg);
                     log.error(">>> 전체 message 객체: {}", message);
-                } else {
-                    log.error(">>> KOSCOM API 응답 success=false, message 필드 없음");
+                    throw new KoscomResponseException("KOSCOM API 오류: " + errorMsg);
                 }
-                return Collections.emptyList();
+                throw new KoscomResponseException("KOSCOM API 응답 success=false, message 필드 없음");
             }
 
             // results 배열 확인
             if (!root.has("results")) {
-                log.warn(">>> KOSCOM API 응답에 results 필드가 없습니다.");
-                log.warn(">>> 응답에 있는 필드들: {}", root.keySet());
-                return Collections.emptyList();
+                throw new KoscomResponseException("KOSCOM API 응답에 results 필드가 없습니다: " + root.keySet());
             }
 
             JsonArray results = root.getAsJsonArray("results");
@@ -285,11 +282,24 @@ public class NewsCollectorService {
             log.info(">>> 파싱 완료: {} 건", newsItems.size());
             return newsItems;
 
+        } catch (KoscomResponseException e) {
+            throw e;
         } catch (Exception e) {
-            log.error(">>> 응답 파싱 실패: {}", e.getMessage());
-            log.error(">>> 파싱 에러 상세:", e);
             log.error(">>> 파싱 실패한 응답 내용: {}", jsonResponse);
-            return Collections.emptyList();
+            throw new KoscomResponseException("KOSCOM API 응답 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 정상 응답이 아닌 KOSCOM 응답 (캐시하지 않고 해당 종목은 빈 결과로 처리)
+     */
+    static class KoscomResponseException extends RuntimeException {
+        KoscomResponseException(String message) {
+            super(message);
+        }
+
+        KoscomResponseException(String message, Throwable cause) {
+            super(message, cause);
         }
     }
 
@@ -314,38 +324,62 @@ public class NewsCollectorService {
 
     /**
      * 뉴스 아이템을 DB에 저장 (중복 제거 강화)
+     * 중복 판정은 조회 1회로 하고, 새 뉴스는 모아서 saveAll 한 번으로 저장한다.
      */
     private List<EtfNews> saveNewsItems(Etf etf, EtfComponent component, List<KoscomNewsItem> newsItems) {
         log.info(">>> 뉴스 저장 시작: {}건", newsItems.size());
 
-        List<EtfNews> savedNews = new ArrayList<>();
+        // 제목 없는 뉴스는 저장할 수 없으므로 제외 (title NOT NULL)
+        List<KoscomNewsItem> items = newsItems.stream()
+                .filter(item -> item.getTitle() != null)
+                .toList();
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 1. 배치의 url/제목으로 DB에 이미 있는 뉴스를 한 번에 조회
+        Set<String> urls = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        for (KoscomNewsItem item : items) {
+            urls.add(newsUrlOf(item));
+            titles.add(item.getTitle());
+        }
 
-        // 이미 처리한 뉴스 제목을 추적 (같은 배치 내 중복 방지)
+        Set<String> existingUrls = new HashSet<>();
+        Set<String> existingTitles = new HashSet<>();
+        for (EtfNewsKey key : etfNewsRepository.findExistingKeys(etf.getId(), urls, titles)) {
+            existingUrls.add(key.url());
+            existingTitles.add(key.title());
+        }
+
+        // 이미 처리한 뉴스 url/제목을 추적 (같은 배치 내 중복 방지)
+        Set<String> processedUrls = new HashSet<>();
         Set<String> processedTitles = new HashSet<>();
+        List<EtfNews> toSave = new ArrayList<>();
 
         int duplicateInBatch = 0;
         int duplicateUrl = 0;
         int duplicateTitle = 0;
-        int savedCount = 0;
 
-        for (KoscomNewsItem item : newsItems) {
-            // 1. 같은 배치 내에서 제목 중복 체크
-            if (processedTitles.contains(item.getTitle())) {
-                log.debug(">>> 배치 내 중복 제목 건너뜀: {}", item.getTitle());
+        for (KoscomNewsItem item : items) {
+            String newsUrl = newsUrlOf(item);
+
+            // 2. 같은 배치 내에서 url/제목 중복 체크
+            if (processedTitles.contains(item.getTitle()) || processedUrls.contains(newsUrl)) {
+                log.debug(">>> 배치 내 중복 건너뜀: {}", item.getTitle());
                 duplicateInBatch++;
                 continue;
             }
 
-            // 2. URL 중복 체크 (기존)
-            String newsUrl = String.format("https://news.koscom.co.kr/news/%s", item.getCode());
-            if (etfNewsRepository.existsByEtfIdAndUrl(etf.getId(), newsUrl)) {
+            // 3. URL 중복 체크 (DB)
+            if (existingUrls.contains(newsUrl)) {
                 log.debug(">>> DB 중복 URL 건너뜀: {}", newsUrl);
                 duplicateUrl++;
                 continue;
             }
 
-            // 3. 제목 중복 체크 (DB)
-            if (etfNewsRepository.existsByEtfIdAndTitle(etf.getId(), item.getTitle())) {
+            // 4. 제목 중복 체크 (DB)
+            if (existingTitles.contains(item.getTitle())) {
                 log.debug(">>> DB 중복 제목 건너뜀: {}", item.getTitle());
                 duplicateTitle++;
                 continue;
@@ -354,8 +388,7 @@ public class NewsCollectorService {
             // 날짜/시간 파싱
             LocalDateTime publishedAt = parseDateTime(item.getDate(), item.getTime());
 
-            // 뉴스 저장
-            EtfNews news = EtfNews.builder()
+            toSave.add(EtfNews.builder()
                     .etfId(etf.getId())
                     .title(item.getTitle())
                     .content(String.format("[%s] 관련 뉴스", component.getStockName()))
@@ -364,22 +397,25 @@ public class NewsCollectorService {
                     .publishedAt(publishedAt)
                     .analyzed(false)
                     .alertTriggered(false)
-                    .build();
-
-            savedNews.add(etfNewsRepository.save(news));
+                    .build());
+            processedUrls.add(newsUrl);
             processedTitles.add(item.getTitle());
-            savedCount++;
-
-            log.debug(">>> 뉴스 저장 완료: {}", item.getTitle());
         }
 
-        log.info(">>> 저장 완료: {}건 저장", savedCount);
+        // 5. 새 뉴스는 한 번에 저장
+        List<EtfNews> savedNews = toSave.isEmpty() ? Collections.emptyList() : etfNewsRepository.saveAll(toSave);
+
+        log.info(">>> 저장 완료: {}건 저장", savedNews.size());
         log.info(">>> 중복 제거: 배치내={}건, URL={}건, 제목={}건",
                 duplicateInBatch, duplicateUrl, duplicateTitle);
 
         return savedNews;
     }
 
+    private String newsUrlOf(KoscomNewsItem item) {
+        return String.format("https://news.koscom.co.kr/news/%s", item.getCode());
+    }
+
     private LocalDateTime parseDateTime(String date, String time) {
         try {
             // date: "20230312", time: "143000"
@@ -0,0 +1,277 @@
+package koscom.mini_project.team2.team2.domain.news.service;
+
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfSummary;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.event.EtfComponentsChangedEvent;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.domain.news.dto.PortfolioExposureResponse;
+import koscom.mini_project.team2.team2.domain.news.entity.EtfComponent;
+import koscom.mini_project.team2.team2.domain.news.entity.PortfolioAllocation;
+import koscom.mini_project.team2.team2.domain.news.repository.EtfComponentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 포트폴리오 look-through 노출도 계산
+ *
+ * 종목 코드는 정수 id로 intern하고, ETF별 구성종목은 (종목 id int[], 비중 double[]) 원시 배열로 보관한다.
+ * 포트폴리오 노출도 = Σ 배분 비중(%) x 구성 비중(%) / 100 을 배분 목록 한 번 순회로 종목별/카테고리별로 누적한다.
+ * 구성종목 합이 100%가 안 되는 ETF(상위 종목만 공개)의 나머지는 uncoveredWeight로 따로 보고한다.
+ * 데이터는 불변 스냅샷이며 구성종목/ETF 변경 이벤트가 오면 해당 ETF만 바꾼 새 스냅샷으로 교체한다.
+ */
+@Component
+@Slf4j
+public class PortfolioExposureEngine {
+
+    private static final String UNCATEGORIZED = "미분류";
+
+    private final EtfComponentRepository etfComponentRepository;
+    private final EtfRepository etfRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // 누적용 작업 배열 (스레드별 재사용, 야간 배치에서 포트폴리오마다 할당하지 않도록)
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public PortfolioExposureEngine(EtfComponentRepository etfComponentRepository, EtfRepository etfRepository) {
+        this.etfComponentRepository = etfComponentRepository;
+        this.etfRepository = etfRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Map<Long, List<EtfComponent>> byEtf = etfComponentRepository.findAll().stream()
+                .collect(Collectors.groupingBy(EtfComponent::getEtfId));
+        Map<Long, String> categories = new HashMap<>();
+        for (EtfSummary etf : etfRepository.findAllSummaries()) {
+            categories.put(etf.id(), etf.category());
+        }
+
+        Builder builder = new Builder(Snapshot.EMPTY);
+        byEtf.forEach(builder::putHoldings);
+        categories.forEach(builder::putCategory);
+        snapshot = builder.build();
+        log.info("포트폴리오 노출도 엔진 로드 완료: ETF {}건, 종목 {}건", byEtf.size(), snapshot.codes.length);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComponentsChanged(EtfComponentsChangedEvent event) {
+        if (event.isAll()) {
+            load();
+            return;
+        }
+        Builder builder = new Builder(snapshot);
+        builder.putHoldings(event.etfId(), etfComponentRepository.findByEtfId(event.etfId()));
+        snapshot = builder.build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEtfChanged(EtfChangedEvent event) {
+        if (event.isWholeCatalog()) {
+            load();
+            return;
+        }
+        Builder builder = new Builder(snapshot);
+        builder.putCategory(event.etfId(), etfRepository.findSummaryById(event.etfId())
+                .map(EtfSummary::category)
+                .orElse(null));
+        snapshot = builder.build();
+    }
+
+    /**
+     * 배분 목록 한 번 순회로 종목별/카테고리별 노출도 계산 (단위: %)
+     */
+    public PortfolioExposureResponse compute(Long portfolioId, List<PortfolioAllocation> allocations) {
+        Snapshot s = snapshot;
+        Scratch sc = scratch.get();
+        sc.ensure(s.codes.length);
+        double[] acc = sc.acc;
+        int[] touched = sc.touched;
+        int[] mark = sc.mark;
+        int stamp = sc.nextStamp();
+        int touchedCount = 0;
+
+        Map<String, Double> byCategory = new LinkedHashMap<>();
+        double totalWeight = 0;
+        double covered = 0;
+
+        for (PortfolioAllocation allocation : allocations) {
+            if (allocation.getEtfId() == null) continue;
+            double w = allocation.getTargetWeight() != null ? allocation.getTargetWeight() : 0;
+            totalWeight += w;
+
+            String category = s.categories.get(allocation.getEtfId());
+            byCategory.merge(category != null ? category : UNCATEGORIZED, w, Double::sum);
+
+            Holdings h = s.holdings.get(allocation.getEtfId());
+            if (h == null) continue;
+            for (int j = 0; j < h.stocks.length; j++) {
+                int stock = h.stocks[j];
+                if (mark[stock] != stamp) {
+                    mark[stock] = stamp;
+                    acc[stock] = 0;
+                    touched[touchedCount++] = stock;
+                }
+                acc[stock] += w * h.weights[j] / 100.0;
+            }
+            covered += w * h.total / 100.0;
+        }
+
+        List<PortfolioExposureResponse.StockExposure> stocks = new ArrayList<>(touchedCount);
+        for (int i = 0; i < touchedCount; i++) {
+            int stock = touched[i];
+            stocks.add(PortfolioExposureResponse.StockExposure.builder()
+                    .stockCode(s.codes[stock])
+                    .stockName(s.names[stock])
+                    .weight(acc[stock])
+                    .build());
+        }
+        stocks.sort((a, b) -> Double.compare(b.getWeight(), a.getWeight()));
+
+        List<PortfolioExposureResponse.CategoryExposure> categories = byCategory.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .map(e -> PortfolioExposureResponse.CategoryExposure.builder()
+                        .category(e.getKey())
+                        .weight(e.getValue())
+                        .build())
+                .toList();
+
+        return PortfolioExposureResponse.builder()
+                .portfolioId(portfolioId)
+                .totalWeight(totalWeight)
+                .coveredWeight(covered)
+                .uncoveredWeight(Math.max(0, totalWeight - covered))
+                .stocks(stocks)
+                .categories(categories)
+                .build();
+    }
+
+    /**
+     * ETF 한 개의 구성 (같은 위치가 같은 종목)
+     */
+    private record Holdings(int[] stocks, double[] weights, double total) { }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new HashMap<>(), new String[0], new String[0], new HashMap<>(), new HashMap<>());
+
+        final Map<String, Integer> stockIds;   // 종목 코드 → id
+        final String[] codes;
+        final String[] names;
+        final Map<Long, Holdings> holdings;
+        final Map<Long, String> categories;
+
+        Snapshot(Map<String, Integer> stockIds, String[] codes, String[] names,
+                 Map<Long, Holdings> holdings, Map<Long, String> categories) {
+            this.stockIds = stockIds;
+            this.codes = codes;
+            this.names = names;
+            this.holdings = holdings;
+            this.categories = categories;
+        }
+    }
+
+    /**
+     * 이전 스냅샷을 복사해 일부 ETF만 바꾼 새 스냅샷을 만든다 (종목 id는 유지되고 새 종목만 뒤에 추가)
+     * build() 이후에는 맵을 수정하지 않는다 (스냅샷이 그대로 공유)
+     */
+    private static final class Builder {
+
+        final Map<String, Integer> stockIds;
+        final List<String> codes;
+        final List<String> names;
+        final Map<Long, Holdings> holdings;
+        final Map<Long, String> categories;
+
+        Builder(Snapshot base) {
+            this.stockIds = new HashMap<>(base.stockIds);
+            this.codes = new ArrayList<>(Arrays.asList(base.codes));
+            this.names = new ArrayList<>(Arrays.asList(base.names));
+            this.holdings = new HashMap<>(base.holdings);
+            this.categories = new HashMap<>(base.categories);
+        }
+
+        void putHoldings(Long etfId, List<EtfComponent> components) {
+            if (components == null || components.isEmpty()) {
+                holdings.remove(etfId);
+                return;
+            }
+            // 같은 종목이 두 번 들어 있으면 비중을 합친다
+            Map<Integer, Double> merged = new LinkedHashMap<>();
+            for (EtfComponent c : components) {
+                if (c.getStockCode() == null || c.getWeight() == null) continue;
+                merged.merge(intern(c.getStockCode(), c.getStockName()), c.getWeight(), Double::sum);
+            }
+            int[] stocks = new int[merged.size()];
+            double[] weights = new double[merged.size()];
+            double total = 0;
+            int i = 0;
+            for (Map.Entry<Integer, Double> e : merged.entrySet()) {
+                stocks[i] = e.getKey();
+                weights[i] = e.getValue();
+                total += e.getValue();
+                i++;
+            }
+            holdings.put(etfId, new Holdings(stocks, weights, total));
+        }
+
+        void putCategory(Long etfId, String category) {
+            if (category == null) categories.remove(etfId);
+            else categories.put(etfId, category);
+        }
+
+        private int intern(String code, String name) {
+            Integer id = stockIds.get(code);
+            if (id != null) return id;
+            stockIds.put(code, codes.size());
+            codes.add(code);
+            names.add(name);
+            return codes.size() - 1;
+        }
+
+        Snapshot build() {
+            return new Snapshot(stockIds, codes.toArray(new String[0]), names.toArray(new String[0]),
+                    holdings, categories);
+        }
+    }
+
+    /**
+     * 종목 수만큼의 누적 배열 + 이번 계산에서 만진 칸 목록
+     * mark[i] == stamp 인 칸만 이번 계산 값이므로 배열 전체를 지우지 않는다.
+     */
+    private static final class Scratch {
+
+        double[] acc = new double[0];
+        int[] touched = new int[0];
+        int[] mark = new int[0];
+        int stamp;
+
+        void ensure(int n) {
+            if (acc.length < n) {
+                acc = new double[n];
+                touched = new int[n];
+                mark = new int[n];
+                stamp = 0;
+            }
+        }
+
+        int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(mark, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+}
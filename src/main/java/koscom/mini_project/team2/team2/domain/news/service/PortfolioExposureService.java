@@ -0,0 +1,51 @@
+package koscom.mini_project.team2.team2.domain.news.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import koscom.mini_project.team2.team2.domain.news.dto.PortfolioExposureResponse;
+import koscom.mini_project.team2.team2.domain.news.entity.PortfolioAllocation;
+import koscom.mini_project.team2.team2.domain.news.repository.PortfolioAllocationRepository;
+import koscom.mini_project.team2.team2.domain.news.repository.PortfolioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PortfolioExposureService {
+
+    private final PortfolioRepository portfolioRepository;
+    private final PortfolioAllocationRepository allocationRepository;
+    private final PortfolioExposureEngine exposureEngine;
+
+    /**
+     * 포트폴리오 한 개의 종목별/카테고리별 노출도
+     */
+    public PortfolioExposureResponse getExposure(Long portfolioId) {
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new EntityNotFoundException("포트폴리오를 찾을 수 없습니다: " + portfolioId);
+        }
+        return exposureEngine.compute(portfolioId, allocationRepository.findByPortfolioId(portfolioId));
+    }
+
+    /**
+     * 전체 포트폴리오 노출도 (야간 배치용 - 배분은 한 번에 읽고 포트폴리오별로 계산)
+     */
+    public Map<Long, PortfolioExposureResponse> getAllExposures() {
+        long start = System.currentTimeMillis();
+        Map<Long, List<PortfolioAllocation>> byPortfolio = allocationRepository.findAll().stream()
+                .collect(Collectors.groupingBy(PortfolioAllocation::getPortfolioId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Long, PortfolioExposureResponse> result = new LinkedHashMap<>();
+        byPortfolio.forEach((portfolioId, allocations) ->
+                result.put(portfolioId, exposureEngine.compute(portfolioId, allocations)));
+
+        log.info("전체 포트폴리오 노출도 계산 완료: {}건, {}ms", result.size(), System.currentTimeMillis() - start);
+        return result;
+    }
+}
@@ -1,7 +1,7 @@
 package koscom.mini_project.team2.team2.domain.news.service;
 
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
-import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfLookupCache;
 import koscom.mini_project.team2.team2.domain.news.entity.Portfolio;
 import koscom.mini_project.team2.team2.domain.news.entity.PortfolioAllocation;
 import koscom.mini_project.team2.team2.domain.news.repository.PortfolioAllocationRepository;
@@ -20,7 +20,7 @@ public class PortfolioInitializer {
 
     private final PortfolioRepository portfolioRepository;
     private final PortfolioAllocationRepository allocationRepository;
-    private final EtfRepository etfRepository;
+    private final EtfLookupCache etfLookupCache;
 
     /**
      * 테스트용 포트폴리오 초기화
@@ -39,9 +39,9 @@ public class PortfolioInitializer {
         log.info("포트폴리오 생성 완료: {}", savedPortfolio.getId());
 
         // 2. 포트폴리오 구성 (3개 ETF)
-        Etf kodex200 = etfRepository.findByName("KODEX 200").orElse(null);
-        Etf tigerSp500 = etfRepository.findByName("TIGER 미국S&P500").orElse(null);
-        Etf kodexKosdaq150 = etfRepository.findByName("KODEX 코스닥150").orElse(null);
+        Etf kodex200 = etfLookupCache.findByName("KODEX 200").orElse(null);
+        Etf tigerSp500 = etfLookupCache.findByName("TIGER 미국S&P500").orElse(null);
+        Etf kodexKosdaq150 = etfLookupCache.findByName("KODEX 코스닥150").orElse(null);
 
         if (kodex200 != null && tigerSp500 != null && kodexKosdaq150 != null) {
             List<PortfolioAllocation> allocations = Arrays.asList(
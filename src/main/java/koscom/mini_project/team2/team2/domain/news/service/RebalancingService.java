@@ -4,7 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import koscom.mini_project.team2.team2.domain.etf.entity.Etf;
-import koscom.mini_project.team2.team2.domain.etf.repository.EtfRepository;
+import koscom.mini_project.team2.team2.domain.etf.service.EtfLookupCache;
 import koscom.mini_project.team2.team2.domain.news.dto.AnalysisResult;
 import koscom.mini_project.team2.team2.domain.news.entity.EtfNews;
 import koscom.mini_project.team2.team2.domain.news.service.NewsAnalysisService;
@@ -36,7 +36,7 @@ public class RebalancingService {
 
     private final PortfolioRepository portfolioRepository;
     private final PortfolioAllocationRepository allocationRepository;
-    private final EtfRepository etfRepository;
+    private final EtfLookupCache etfLookupCache;
     private final NewsCollectorService newsCollector;
     private final NewsAnalysisService newsAnalysis;
     private final RebalancingHistoryRepository historyRepository;
@@ -48,14 +48,14 @@ public class RebalancingService {
 
     public RebalancingService(PortfolioRepository portfolioRepository,
                               PortfolioAllocationRepository allocationRepository,
-                              EtfRepository etfRepository,
+                              EtfLookupCache etfLookupCache,
                               NewsCollectorService newsCollector,
                               NewsAnalysisService newsAnalysis,
                               RebalancingHistoryRepository historyRepository,
                               WebClient.Builder webClientBuilder) {
         this.portfolioRepository = portfolioRepository;
         this.allocationRepository = allocationRepository;
-        this.etfRepository = etfRepository;
+        this.etfLookupCache = etfLookupCache;
         this.newsCollector = newsCollector;
         this.newsAnalysis = newsAnalysis;
         this.historyRepository = historyRepository;
@@ -85,7 +85,7 @@ public class RebalancingService {
         List<EtfNewsAnalysis> etfAnalyses = new ArrayList<>();
 
         for (PortfolioAllocation allocation : allocations) {
-            Etf etf = etfRepository.findById(allocation.getEtfId())
+            Etf etf = etfLookupCache.findById(allocation.getEtfId())
                     .orElseThrow(() -> new RuntimeException("ETF를 찾을 수 없습니다: " + allocation.getEtfId()));
 
             log.info("ETF 뉴스 수집: {}", etf.getName());
@@ -154,7 +154,7 @@ public class RebalancingService {
 
         prompt.append("=== 현재 포트폴리오 구성 ===\n");
         for (PortfolioAllocation allocation : allocations) {
-            Etf etf = etfRepository.findById(allocation.getEtfId()).orElse(null);
+            Etf etf = etfLookupCache.findById(allocation.getEtfId()).orElse(null);
             if (etf != null) {
                 prompt.append(String.format("- %s: %.0f%% (위험도: %d, 카테고리: %s)\n",
                         etf.getName(),
@@ -196,7 +196,7 @@ public class RebalancingService {
         prompt.append("RECOMMENDATIONS:\n");
 
         for (PortfolioAllocation allocation : allocations) {
-            Etf etf = etfRepository.findById(allocation.getEtfId()).orElse(null);
+            Etf etf = etfLookupCache.findById(allocation.getEtfId()).orElse(null);
             if (etf != null) {
                 prompt.append(String.format("- %s: %.0f -> [추천비중]%% (이유)\n",
                         etf.getName(),
@@ -262,7 +262,7 @@ public class RebalancingService {
         Map<Long, Double> weights = new HashMap<>();
 
         for (PortfolioAllocation allocation : allocations) {
-            Etf etf = etfRepository.findById(allocation.getEtfId()).orElse(null);
+            Etf etf = etfLookupCache.findById(allocation.getEtfId()).orElse(null);
             if (etf == null) continue;
 
             String etfName = etf.getName();
@@ -311,7 +311,7 @@ public class RebalancingService {
         List<AllocationChangeDto> recommendedPortfolio = new ArrayList<>();
 
         for (PortfolioAllocation allocation : allocations) {
-            Etf etf = etfRepository.findById(allocation.getEtfId()).orElse(null);
+            Etf etf = etfLookupCache.findById(allocation.getEtfId()).orElse(null);
             if (etf == null) continue;
 
             double currentWeight = allocation.getTargetWeight();
@@ -1,6 +1,7 @@
 package koscom.mini_project.team2.team2.domain.tutor.entity;
 
 import jakarta.persistence.*;
+import koscom.mini_project.team2.team2.config.IdSequenceTable;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -14,8 +15,16 @@ import java.time.LocalDateTime;
 @Table(name = "tutor_history")
 public class TutorHistory {
 
+    // IDENTITY 대신 채번 테이블 (saveAll 배치 insert 가능)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tutor_history_id")
+    @TableGenerator(
+            name = "tutor_history_id",
+            table = IdSequenceTable.TABLE,
+            pkColumnName = IdSequenceTable.PK_COLUMN,
+            valueColumnName = IdSequenceTable.VALUE_COLUMN,
+            pkColumnValue = "tutor_history",
+            allocationSize = IdSequenceTable.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "member_id")
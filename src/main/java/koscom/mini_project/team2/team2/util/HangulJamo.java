@@ -0,0 +1,108 @@
+package koscom.mini_project.team2.team2.util;
+
+/**
+ * 검색용 한글 자모 분해
+ *
+ * 완성형 음절을 호환 자모(ㄱ, ㅏ …)로 풀고 겹받침/겹모음도 낱자로 나눈다.
+ * "미국" → "ㅁㅣㄱㅜㄱ" 이므로 입력 중인 "미구", "믹" 도 부분 문자열로 일치한다.
+ * 영문은 소문자로, 공백은 제거한다.
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    private static final String[] CHOSEONG = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ",
+            "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    private HangulJamo() {
+    }
+
+    /**
+     * 자모 분해 + 소문자 + 공백 제거 (겹자모 단독 입력도 낱자로 분해)
+     */
+    public static String decompose(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int idx = c - SYLLABLE_BASE;
+                sb.append(CHOSEONG[idx / 588]);
+                sb.append(JUNGSEONG[(idx % 588) / 28]);
+                sb.append(JONGSEONG[idx % 28]);
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(splitCompatJamo(Character.toLowerCase(c)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 초성만 (한글 외 문자는 소문자로 그대로, 공백 제거) - "미국S&P" → "ㅁㄱs&p"
+     */
+    public static String choseong(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                sb.append(CHOSEONG[(c - SYLLABLE_BASE) / 588]);
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 공백을 뺀 나머지가 모두 자음 자모인지 (초성 검색 입력 판별)
+     */
+    public static boolean isConsonantsOnly(String s) {
+        if (s == null) return false;
+        boolean any = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (c < 'ㄱ' || c > 'ㅎ') return false;
+            any = true;
+        }
+        return any;
+    }
+
+    // 호환 자모 중 겹받침/겹모음을 낱자로 (ㄺ → ㄹㄱ, ㅘ → ㅗㅏ)
+    private static String splitCompatJamo(char c) {
+        return switch (c) {
+            case 'ㄳ' -> "ㄱㅅ";
+            case 'ㄵ' -> "ㄴㅈ";
+            case 'ㄶ' -> "ㄴㅎ";
+            case 'ㄺ' -> "ㄹㄱ";
+            case 'ㄻ' -> "ㄹㅁ";
+            case 'ㄼ' -> "ㄹㅂ";
+            case 'ㄽ' -> "ㄹㅅ";
+            case 'ㄾ' -> "ㄹㅌ";
+            case 'ㄿ' -> "ㄹㅍ";
+            case 'ㅀ' -> "ㄹㅎ";
+            case 'ㅄ' -> "ㅂㅅ";
+            case 'ㅘ' -> "ㅗㅏ";
+            case 'ㅙ' -> "ㅗㅐ";
+            case 'ㅚ' -> "ㅗㅣ";
+            case 'ㅝ' -> "ㅜㅓ";
+            case 'ㅞ' -> "ㅜㅔ";
+            case 'ㅟ' -> "ㅜㅣ";
+            case 'ㅢ' -> "ㅡㅣ";
+            default -> String.valueOf(c);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package koscom.mini_project.team2.team2.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 기존 컨버터(JSON 즉시 파싱) 대비 저장 크기 / 로드 시간 / 힙 사용량 비교
+ * 시간과 힙은 환경에 따라 달라 검증하지 않고 로그로만 남긴다. (./gradlew benchmark)
+ */
+@Tag("benchmark")
+class StockListCodecBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(StockListCodecBenchmark.class);
+    private static final ObjectMapper om = new ObjectMapper();
+    private static final int ROWS = 20_000;
+
+    static List<Stock> sampleRow() {
+        List<Stock> sample = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            sample.add(new Stock("종목" + i + " Holdings", i % 2 == 0 ? "국내" : "해외", i % 9));
+        }
+        return sample;
+    }
+
+    @Test
+    void compareWithEagerJsonConverter() throws Exception {
+        List<Stock> sample = sampleRow();
+        String json = om.writeValueAsString(sample);
+        String binary = StockListCodec.encode(sample);
+
+        log.info("[stock_list] 1행 저장 크기: json={} bytes, B1={} bytes",
+                json.getBytes().length, binary.getBytes().length);
+
+        // 워밍업
+        for (int i = 0; i < 2_000; i++) {
+            eagerJson(json);
+            StockListCodec.decode(binary);
+        }
+
+        report("eager json (기존)", () -> eagerJson(json));
+        report("binary decode", () -> StockListCodec.decode(binary));
+        report("lazy, 접근 안 함", () -> new LazyStockList(binary));
+        report("lazy, 접근함", () -> {
+            LazyStockList lazy = new LazyStockList(binary);
+            lazy.size();
+            return lazy;
+        });
+    }
+
+    private static List<Stock> eagerJson(String json) {
+        try {
+            return om.readValue(json, new TypeReference<List<Stock>>() {});
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void report(String label, Supplier<List<Stock>> load) {
+        List<List<Stock>> retained = new ArrayList<>(ROWS);
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            retained.add(load.get());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long heapAfter = usedHeap();
+
+        log.info("[stock_list] {} {}행: {} ms, 힙 +{} KB",
+                label, retained.size(), elapsedMs, Math.max(0, heapAfter - heapBefore) / 1024);
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,68 @@
+package koscom.mini_project.team2.team2.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.entity.Stock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockListCodecTest {
+
+    private static final ObjectMapper om = new ObjectMapper();
+
+    @Test
+    void binaryRoundTrip() {
+        List<Stock> stocks = new ArrayList<>(List.of(
+                new Stock("삼성전자", "국내", 1),
+                new Stock("Apple", "해외", 2),
+                new Stock(null, "", -7),
+                new Stock("S&P 500 지수", null, null)
+        ));
+        stocks.add(null);
+
+        String encoded = StockListCodec.encode(stocks);
+
+        assertThat(encoded).startsWith(StockListCodec.BINARY_PREFIX);
+        assertThat(StockListCodec.decode(encoded)).isEqualTo(stocks);
+    }
+
+    @Test
+    void readsLegacyJsonRows() {
+        String json = "[{\"name\":\"Apple\",\"cat\":\"해외\",\"cat_code\":2}]";
+
+        assertThat(StockListCodec.decode(json)).containsExactly(new Stock("Apple", "해외", 2));
+        assertThat(StockListCodec.decode(null)).isEmpty();
+        assertThat(StockListCodec.decode("")).isEmpty();
+    }
+
+    @Test
+    void lazyListDecodesOnFirstAccessAndWritesRawBackUntouched() {
+        String json = "[{\"name\":\"Apple\",\"cat\":\"해외\",\"cat_code\":2}]";
+        StockListJsonConverter converter = new StockListJsonConverter();
+
+        List<Stock> loaded = converter.convertToEntityAttribute(json);
+        LazyStockList lazy = (LazyStockList) loaded;
+
+        assertThat(lazy.isDecoded()).isFalse();
+        assertThat(converter.convertToDatabaseColumn(loaded)).isEqualTo(json);
+        assertThat(loaded.equals(converter.convertToEntityAttribute(json))).isTrue();
+        assertThat(lazy.isDecoded()).isFalse();
+
+        assertThat(loaded.get(0).getName()).isEqualTo("Apple");
+        assertThat(lazy.isDecoded()).isTrue();
+        assertThat(converter.convertToDatabaseColumn(loaded)).startsWith(StockListCodec.BINARY_PREFIX);
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() throws Exception {
+        List<Stock> sample = StockListCodecBenchmark.sampleRow();
+
+        String json = om.writeValueAsString(sample);
+        String binary = StockListCodec.encode(sample);
+
+        assertThat(binary.getBytes().length).isLessThan(json.getBytes().length);
+    }
+}
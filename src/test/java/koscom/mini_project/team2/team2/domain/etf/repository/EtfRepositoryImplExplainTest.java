@@ -0,0 +1,43 @@
+package koscom.mini_project.team2.team2.domain.etf.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * searchEtfs 실행 계획 회귀 테스트
+ * etf 테이블 접근이 풀 스캔(type=ALL)으로 떨어지면 실패한다.
+ * (UNION 결과를 담는 <union..>/<derived..> 임시 테이블 접근은 제외)
+ */
+@SpringBootTest
+class EtfRepositoryImplExplainTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchEtfsDoesNotFullScanEtfTable() {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "EXPLAIN " + EtfRepositoryImpl.SEARCH_SQL,
+                EtfRepositoryImpl.searchParams(10, 5)
+        );
+
+        assertFalse(plan.isEmpty());
+
+        for (Map<String, Object> row : plan) {
+            String table = String.valueOf(row.get("table"));
+            if (table.startsWith("<")) continue;
+
+            String type = String.valueOf(row.get("type"));
+            assertTrue(!"ALL".equalsIgnoreCase(type),
+                    "etf 테이블 풀 스캔 발생: table=" + table + ", plan=" + row);
+        }
+    }
+}
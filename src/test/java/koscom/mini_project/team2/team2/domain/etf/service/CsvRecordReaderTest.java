@@ -0,0 +1,106 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasAndNewlines() throws Exception {
+        CsvRecordReader csv = reader("a,\"b,c\",\"d\ne\"\nx,y\n");
+
+        assertThat(csv.next()).containsExactly("a", "b,c", "d\ne");
+        assertThat(csv.recordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("x", "y");
+        assertThat(csv.recordLine()).isEqualTo(3);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void doubledQuoteIsEscapedQuote() throws Exception {
+        CsvRecordReader csv = reader("\"say \"\"hi\"\"\",\"\"\"\",z\n");
+
+        assertThat(csv.next()).containsExactly("say \"hi\"", "\"", "z");
+    }
+
+    @Test
+    void crlfEndsRecord() throws Exception {
+        CsvRecordReader csv = reader("a,b\r\nc,d\r\n");
+
+        assertThat(csv.next()).containsExactly("a", "b");
+        assertThat(csv.recordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("c", "d");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void crlfInsideQuotesIsKeptAndCounted() throws Exception {
+        CsvRecordReader csv = reader("\"a\r\nb\",c\r\nd\r\n");
+
+        assertThat(csv.next()).containsExactly("a\r\nb", "c");
+        assertThat(csv.next()).containsExactly("d");
+        assertThat(csv.recordLine()).isEqualTo(3);
+    }
+
+    @Test
+    void leadingBomIsSkipped() throws Exception {
+        CsvRecordReader csv = reader("\uFEFFname,fltRt\n");
+
+        assertThat(csv.next()).containsExactly("name", "fltRt");
+    }
+
+    @Test
+    void bomOnlyAtStartIsSkipped() throws Exception {
+        CsvRecordReader csv = reader("a\n\uFEFFb\n");
+
+        csv.next();
+        assertThat(csv.next()).containsExactly("\uFEFFb");
+    }
+
+    @Test
+    void emptyFieldsAndBlankLines() throws Exception {
+        CsvRecordReader csv = reader("a,,\n\nb\n");
+
+        assertThat(csv.next()).containsExactly("a", "", "");
+        assertThat(csv.next()).containsExactly("");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("b");
+        assertThat(csv.recordLine()).isEqualTo(3);
+    }
+
+    @Test
+    void lastRecordWithoutNewline() throws Exception {
+        CsvRecordReader csv = reader("a,b\nc,\"d\"");
+
+        assertThat(csv.next()).containsExactly("a", "b");
+        assertThat(csv.next()).containsExactly("c", "d");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void emptyInput() throws Exception {
+        assertThat(reader("").next()).isNull();
+        assertThat(reader("\uFEFF").next()).isNull();
+    }
+
+    @Test
+    void unclosedQuoteFailsWithRecordLine() throws Exception {
+        CsvRecordReader csv = reader("a\nb,\"open\nstill open\n");
+        csv.next();
+
+        assertThatThrownBy(csv::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("2행");
+    }
+
+    private static CsvRecordReader reader(String text) {
+        return new CsvRecordReader(new StringReader(text));
+    }
+}
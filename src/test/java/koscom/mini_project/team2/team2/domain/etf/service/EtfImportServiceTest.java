@@ -0,0 +1,271 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfImportResult;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfImportRow;
+import koscom.mini_project.team2.team2.domain.etf.repository.EtfBulkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.DataTruncation;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EtfImportServiceTest {
+
+    private StubBulkRepository repository;
+    private List<Object> events;
+    private EtfImportService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StubBulkRepository();
+        events = new ArrayList<>();
+        service = new EtfImportService(repository, new ObjectMapper(), events::add);
+        configure(500, 100_000);
+    }
+
+    @Test
+    void csvRowErrorsAreReportedWithRecordStartLine() throws Exception {
+        String csv = """
+                name,fltRt,risk_level,category,description,stockList
+                정상,5,2,주식,설명,"[{""name"":""삼성전자"",""cat"":""IT"",""cat_code"":1}]"
+                여러 줄,3,1,채권,"첫 줄
+                둘째 줄",
+                위험도초과,1,10,주식,,
+                숫자오류,abc,1,,,
+                JSON오류,1,1,,,[oops
+                정상,1,1,,,
+                ,1,1,,,
+                """;
+
+        EtfImportResult result = importCsv(csv);
+
+        assertThat(result.total()).isEqualTo(7);
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(5);
+        assertThat(result.aborted()).isFalse();
+        assertThat(result.errors()).extracting(EtfImportResult.RowError::line).containsExactly(5L, 6L, 7L, 8L, 9L);
+        assertThat(result.errors().get(0).message()).contains("riskLevel");
+        assertThat(result.errors().get(1).message()).contains("fltRt");
+        assertThat(result.errors().get(2).message()).contains("stockList JSON");
+        assertThat(result.errors().get(3).message()).contains("2행");
+        assertThat(result.errors().get(4).message()).contains("name은 필수");
+
+        assertThat(repository.saved).extracting(EtfImportRow::name).containsExactly("정상", "여러 줄");
+        assertThat(repository.saved.get(0).stockList()).singleElement()
+                .satisfies(s -> assertThat(s.getName()).isEqualTo("삼성전자"));
+        assertThat(repository.saved.get(1).description()).isEqualTo("첫 줄\n둘째 줄");
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void csvWithoutNameColumnIsRejected() throws Exception {
+        EtfImportResult result = importCsv("title,fltRt\nA,1\n");
+
+        assertThat(result.total()).isZero();
+        assertThat(result.errors()).singleElement()
+                .satisfies(e -> assertThat(e.line()).isEqualTo(1L));
+        assertThat(repository.statements).isEmpty();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void ndjsonReportsBadLinesAndSkipsBlankLines() throws Exception {
+        String ndjson = """
+                {"name":"A","fltRt":1}
+
+                {"name":"B",
+                {"name":"C","riskLevel":-1}
+                {"name":"D"}
+                """;
+
+        EtfImportResult result = importEtfs(ndjson, EtfImportService.Format.NDJSON);
+
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.errors()).extracting(EtfImportResult.RowError::line).containsExactly(3L, 4L);
+        assertThat(result.errors().get(0).message()).contains("JSON");
+    }
+
+    @Test
+    void existingNamesAreUpdated() throws Exception {
+        repository.existing.put("A", 10L);
+
+        EtfImportResult result = importCsv("name\nA\nB\n");
+
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(repository.statements.get(0).ids()).containsExactly(10L, null);
+    }
+
+    @Test
+    void failedChunkIsSplitUntilOnlyBadRowsRemain() throws Exception {
+        configure(4, 100_000);
+        repository.badNames.addAll(Set.of("R3", "R7"));
+
+        // R1~R10이 2~11행, 청크는 [R1..R4] [R5..R8] [R9, R10]
+        EtfImportResult result = importCsv(csvOfNames(10));
+
+        assertThat(result.total()).isEqualTo(10);
+        assertThat(result.inserted()).isEqualTo(8);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.aborted()).isFalse();
+        assertThat(result.errors()).extracting(EtfImportResult.RowError::line).containsExactly(4L, 8L);
+        assertThat(result.errors()).allSatisfy(e -> assertThat(e.message()).startsWith("저장 실패"));
+        assertThat(repository.saved).extracting(EtfImportRow::name)
+                .containsExactly("R1", "R2", "R4", "R5", "R6", "R8", "R9", "R10");
+        // 청크 [4] 실패 → [2] 성공, [2] 실패 → [1] 실패, [1] 성공 / 마지막 청크 [2]는 한 번에 성공
+        assertThat(repository.statements).extracting(s -> s.rows().size())
+                .containsExactly(4, 2, 2, 1, 1, 4, 2, 2, 1, 1, 2);
+    }
+
+    @Test
+    void truncationCauseIsTreatedAsRowError() throws Exception {
+        configure(2, 100_000);
+        repository.badNames.add("R2");
+        repository.rowFailure = () -> new UncategorizedSQLException("upsert", "INSERT",
+                new SQLException("Data too long", new DataTruncation(4, true, false, 300, 255)));
+
+        EtfImportResult result = importCsv(csvOfNames(2));
+
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(result.aborted()).isFalse();
+        assertThat(result.errors()).extracting(EtfImportResult.RowError::line).containsExactly(3L);
+    }
+
+    @Test
+    void connectionFailureAbortsWithoutSplitting() throws Exception {
+        configure(2, 100_000);
+        repository.failOnStatement = 2;
+
+        EtfImportResult result = importCsv(csvOfNames(6));
+
+        // 첫 청크(R1, R2)만 저장, 두 번째 청크(R3, R4)에서 중단 - 이후 행은 읽지 않는다
+        assertThat(result.aborted()).isTrue();
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(repository.statements).hasSize(2);
+        assertThat(result.errors()).singleElement().satisfies(e -> {
+            assertThat(e.line()).isEqualTo(4L);
+            assertThat(e.message()).contains("중단");
+        });
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void rowsBeyondMaxRowsAreNotRead() throws Exception {
+        configure(500, 3);
+
+        EtfImportResult result = importCsv(csvOfNames(5));
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.inserted()).isEqualTo(3);
+        assertThat(result.errors()).singleElement()
+                .satisfies(e -> assertThat(e.line()).isEqualTo(5L));
+    }
+
+    @Test
+    void validateChecksRequiredAndRanges() {
+        assertThat(EtfImportService.validate(row("A", 0))).isNull();
+        assertThat(EtfImportService.validate(row("A", 9))).isNull();
+        assertThat(EtfImportService.validate(row("A", null))).isNull();
+        assertThat(EtfImportService.validate(row(null, 1))).contains("name");
+        assertThat(EtfImportService.validate(row("  ", 1))).contains("name");
+        assertThat(EtfImportService.validate(row("x".repeat(256), 1))).contains("255");
+        assertThat(EtfImportService.validate(row("x".repeat(255), 1))).isNull();
+        assertThat(EtfImportService.validate(row("A", -1))).contains("riskLevel");
+        assertThat(EtfImportService.validate(row("A", 10))).contains("riskLevel");
+        assertThat(EtfImportService.validate(new EtfImportRow("A", null, null, "c".repeat(256), null, null)))
+                .contains("category");
+    }
+
+    @Test
+    void onlyIntegrityAndTruncationErrorsAreRowErrors() {
+        assertThat(EtfImportService.isRowError(new DataIntegrityViolationException("dup"))).isTrue();
+        assertThat(EtfImportService.isRowError(new UncategorizedSQLException("upsert", "INSERT",
+                new DataTruncation(1, true, false, 10, 5)))).isTrue();
+        assertThat(EtfImportService.isRowError(new CannotGetJdbcConnectionException("down"))).isFalse();
+        assertThat(EtfImportService.isRowError(new UncategorizedSQLException("upsert", "INSERT",
+                new SQLException("lock wait timeout")))).isFalse();
+    }
+
+    private void configure(int batchSize, int maxRows) {
+        ReflectionTestUtils.setField(service, "batchSize", batchSize);
+        ReflectionTestUtils.setField(service, "maxRows", maxRows);
+    }
+
+    private EtfImportResult importCsv(String csv) throws Exception {
+        return importEtfs(csv, EtfImportService.Format.CSV);
+    }
+
+    private EtfImportResult importEtfs(String body, EtfImportService.Format format) throws Exception {
+        InputStream in = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        return service.importEtfs(in, format);
+    }
+
+    // 헤더 + R1..Rn (Rk는 k+1행)
+    private static String csvOfNames(int n) {
+        StringBuilder sb = new StringBuilder("name\n");
+        IntStream.rangeClosed(1, n).forEach(i -> sb.append('R').append(i).append('\n'));
+        return sb.toString();
+    }
+
+    private static EtfImportRow row(String name, Integer riskLevel) {
+        return new EtfImportRow(name, null, riskLevel, null, null, null);
+    }
+
+    private record Statement(List<Long> ids, List<EtfImportRow> rows) { }
+
+    /**
+     * badNames가 들어 있는 문장은 행 오류로, failOnStatement번째 문장은 커넥션 오류로 실패한다.
+     */
+    private static final class StubBulkRepository extends EtfBulkRepository {
+
+        final Map<String, Long> existing = new HashMap<>();
+        final Set<String> badNames = new HashSet<>();
+        final List<Statement> statements = new ArrayList<>();
+        final List<EtfImportRow> saved = new ArrayList<>();
+        Supplier<RuntimeException> rowFailure =
+                () -> new DataIntegrityViolationException("Data too long for column 'name'");
+        int failOnStatement = -1;
+
+        StubBulkRepository() {
+            super(null);
+        }
+
+        @Override
+        public Map<String, Long> findIdsByName() {
+            return new HashMap<>(existing);
+        }
+
+        @Override
+        public void upsert(List<Long> ids, List<EtfImportRow> rows) {
+            statements.add(new Statement(new ArrayList<>(ids), List.copyOf(rows)));
+            if (statements.size() == failOnStatement) {
+                throw new CannotGetJdbcConnectionException("Connection is not available");
+            }
+            if (rows.stream().anyMatch(r -> badNames.contains(r.name()))) {
+                throw rowFailure.get();
+            }
+            saved.addAll(rows);
+        }
+    }
+}
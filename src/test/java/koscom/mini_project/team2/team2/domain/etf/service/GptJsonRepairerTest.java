@@ -0,0 +1,136 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import koscom.mini_project.team2.team2.domain.etf.dto.EtfRecommendGptOutput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GptJsonRepairerTest {
+
+    private static final String VALID = """
+            {"investmentType":"안정추구형","investmentProfile":"프로필","etfRiskScore":3,"dividendScore":4,
+             "expectedTotalReturn":7,"etfIds":[101,202],"portfolioWeights":[60,40],"reasonSummary":"요약"}""";
+
+    private SimpleMeterRegistry registry;
+    private GptJsonRepairer repairer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repairer = new GptJsonRepairer(new ObjectMapper(), registry);
+    }
+
+    @Test
+    void validJsonIsParsedDirectly() throws Exception {
+        EtfRecommendGptOutput output = repairer.parse(VALID, EtfRecommendGptOutput.class);
+
+        assertThat(output.etfIds()).containsExactly(101L, 202L);
+        assertThat(output.portfolioWeights()).containsExactly(60, 40);
+        assertCounts(1, 0, 0);
+    }
+
+    @Test
+    void stripsCodeFencesAndSurroundingProse() throws Exception {
+        String raw = "추천 결과입니다.\n```json\n" + VALID + "\n```\n참고하세요 {끝}";
+
+        EtfRecommendGptOutput output = repairer.parse(raw, EtfRecommendGptOutput.class);
+
+        assertThat(output.investmentType()).isEqualTo("안정추구형");
+        assertThat(output.reasonSummary()).isEqualTo("요약");
+        assertCounts(0, 1, 0);
+    }
+
+    @Test
+    void acceptsLenientSyntax() throws Exception {
+        String raw = """
+                {
+                  // 주석
+                  investmentType: '안정추구형',
+                  "etfIds": [101, 202,],
+                  "portfolioWeights": [60, 40],
+                  "reasonSummary": "줄
+                바꿈",
+                }""";
+
+        EtfRecommendGptOutput output = repairer.parse(raw, EtfRecommendGptOutput.class);
+
+        assertThat(output.investmentType()).isEqualTo("안정추구형");
+        assertThat(output.etfIds()).containsExactly(101L, 202L);
+        assertThat(output.reasonSummary()).isEqualTo("줄\n바꿈");
+        assertCounts(0, 1, 0);
+    }
+
+    @Test
+    void roundsFloatsInsteadOfTruncating() throws Exception {
+        String raw = """
+                {"etfRiskScore": 3.6, "expectedTotalReturn": 6.5, "etfIds": [101, 202],
+                 "portfolioWeights": [33.4, 66.6]}""";
+
+        EtfRecommendGptOutput output = repairer.parse(raw, EtfRecommendGptOutput.class);
+
+        assertThat(output.etfRiskScore()).isEqualTo(4);
+        assertThat(output.expectedTotalReturn()).isEqualTo(7);
+        assertThat(output.portfolioWeights()).containsExactly(33, 67);
+        assertCounts(0, 1, 0);
+    }
+
+    @Test
+    void unrepairableResponseThrowsOriginalErrorAndCountsFailure() {
+        assertThatThrownBy(() -> repairer.parse("죄송하지만 추천할 수 없습니다.", EtfRecommendGptOutput.class))
+                .isInstanceOf(JsonProcessingException.class)
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+        assertCounts(0, 0, 1);
+    }
+
+    @Test
+    void nullResponseCountsFailure() {
+        assertThatThrownBy(() -> repairer.parse(null, EtfRecommendGptOutput.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertCounts(0, 0, 1);
+    }
+
+    @Test
+    void llmRepairIsCountedSeparately() {
+        repairer.recordLlmRepair();
+
+        assertThat(count("llm")).isEqualTo(1);
+        assertCounts(0, 0, 0);
+    }
+
+    @Test
+    void extractOutermostObjectIgnoresBracesInsideStrings() {
+        String text = "앞 {\"a\": \"}{\", \"b\": {\"c\": 'x}'}} 뒤 }";
+
+        assertThat(GptJsonRepairer.extractOutermostObject(text))
+                .isEqualTo("{\"a\": \"}{\", \"b\": {\"c\": 'x}'}}");
+    }
+
+    @Test
+    void extractOutermostObjectFallsBackToLastBraceWhenUnbalanced() {
+        assertThat(GptJsonRepairer.extractOutermostObject("x {\"a\": {\"b\": 1}"))
+                .isEqualTo("{\"a\": {\"b\": 1}");
+        assertThatThrownBy(() -> GptJsonRepairer.extractOutermostObject("JSON 없음"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void stripCodeFencesRemovesLanguageTag() {
+        assertThat(GptJsonRepairer.stripCodeFences("```json\n{}\n```")).isEqualTo("{}");
+        assertThat(GptJsonRepairer.stripCodeFences("```\n{}```")).isEqualTo("{}");
+    }
+
+    private void assertCounts(double direct, double local, double failed) {
+        assertThat(count("direct")).isEqualTo(direct);
+        assertThat(count("local")).isEqualTo(local);
+        assertThat(count("failed")).isEqualTo(failed);
+    }
+
+    private double count(String result) {
+        return registry.counter("etf.recommend.json.repair", "result", result).count();
+    }
+}
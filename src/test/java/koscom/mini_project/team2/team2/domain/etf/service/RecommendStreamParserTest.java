@@ -0,0 +1,117 @@
+package koscom.mini_project.team2.team2.domain.etf.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecommendStreamParserTest {
+
+    // 코드블록 표시, 이스케이프된 따옴표/역슬래시, 문자열 안의 괄호/쉼표, 숫자로 끝나는 마지막 필드를 포함
+    private static final String RESPONSE = """
+            ```json
+            {
+              "investmentType": "안정추구형",
+              "investmentProfile": "변동성을 \\"낮게\\" 유지, {중립} [분산]",
+              "etfRiskScore": 3,
+              "etfIds": [101, 202, 303],
+              "portfolioWeights": [40, 30, 30],
+              "dividendScore": 4.5,
+              "reasonSummary": "요약 끝 \\\\",
+              "expectedTotalReturn": 7
+            }
+            ```
+            """;
+
+    private static final List<String> EXPECTED = List.of(
+            "field investmentType=\"안정추구형\"",
+            "field investmentProfile=\"변동성을 \\\"낮게\\\" 유지, {중립} [분산]\"",
+            "field etfRiskScore=3",
+            "etf 101",
+            "etf 202",
+            "etf 303",
+            "field portfolioWeights=[40, 30, 30]",
+            "field dividendScore=4.5",
+            "field reasonSummary=\"요약 끝 \\\\\"",
+            "field expectedTotalReturn=7"
+    );
+
+    @Test
+    void emitsFieldsAndElementsForWholeDocument() {
+        Recorder recorder = new Recorder();
+        RecommendStreamParser parser = new RecommendStreamParser(recorder, "etfIds");
+
+        parser.feed(RESPONSE);
+
+        assertThat(recorder.events).containsExactlyElementsOf(EXPECTED);
+        assertThat(parser.isFinished()).isTrue();
+        assertThat(parser.text()).isEqualTo(RESPONSE);
+    }
+
+    @Test
+    void sameEventsWhenSplitAtEveryOffset() {
+        for (int cut = 0; cut <= RESPONSE.length(); cut++) {
+            Recorder recorder = new Recorder();
+            RecommendStreamParser parser = new RecommendStreamParser(recorder, "etfIds");
+
+            parser.feed(RESPONSE.substring(0, cut));
+            parser.feed(RESPONSE.substring(cut));
+
+            assertThat(recorder.events).as("split at %d", cut).containsExactlyElementsOf(EXPECTED);
+            assertThat(parser.isFinished()).as("split at %d", cut).isTrue();
+        }
+    }
+
+    @Test
+    void sameEventsWhenFedOneCharacterAtATime() {
+        Recorder recorder = new Recorder();
+        RecommendStreamParser parser = new RecommendStreamParser(recorder, "etfIds");
+
+        for (int i = 0; i < RESPONSE.length(); i++) {
+            parser.feed(String.valueOf(RESPONSE.charAt(i)));
+        }
+
+        assertThat(recorder.events).containsExactlyElementsOf(EXPECTED);
+    }
+
+    @Test
+    void emitsEachElementAsSoonAsItCompletes() {
+        Recorder recorder = new Recorder();
+        RecommendStreamParser parser = new RecommendStreamParser(recorder, "etfIds");
+
+        parser.feed("{\"etfIds\": [101, 2");
+        assertThat(recorder.events).containsExactly("etf 101");
+
+        parser.feed("02]");
+        assertThat(recorder.events).containsExactly("etf 101", "etf 202");
+        assertThat(parser.isFinished()).isFalse();
+    }
+
+    @Test
+    void ignoresTextAfterTopLevelObjectCloses() {
+        Recorder recorder = new Recorder();
+        RecommendStreamParser parser = new RecommendStreamParser(recorder, "etfIds");
+
+        parser.feed("{\"a\": 1} {\"b\": 2}");
+
+        assertThat(recorder.events).containsExactly("field a=1");
+        assertThat(parser.isFinished()).isTrue();
+    }
+
+    private static final class Recorder implements RecommendStreamParser.Listener {
+
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onField(String name, String rawValue) {
+            events.add("field " + name + "=" + rawValue);
+        }
+
+        @Override
+        public void onElement(String rawElement) {
+            events.add("etf " + rawElement);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package koscom.mini_project.team2.team2.domain.news.repository;
+
+import koscom.mini_project.team2.team2.domain.news.entity.EtfNews;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * etf_news insert 처리량 비교 (변경 전 IDENTITY vs 변경 후 채번 테이블 + JDBC 배치)
+ *
+ * - before: AUTO_INCREMENT 테이블에 건별 INSERT + 생성 키 조회 (Hibernate가 IDENTITY 엔티티를 저장하는 방식)
+ *   건별 트랜잭션(기존 수집 경로)과 한 트랜잭션(IDENTITY에서 saveAll) 두 가지
+ * - after: etf_news에 saveAll 한 번 (채번 테이블 + hibernate.jdbc.batch_size + rewriteBatchedStatements)
+ * DB에 행을 쓰므로 기본 test에서는 빠지고 ./gradlew benchmark 로만 실행한다.
+ * 처리량은 로그로만 남기고, 모든 경로가 전부 저장됐는지만 검증한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class EtfNewsInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EtfNewsInsertBenchmarkTest.class);
+
+    // 실제 ETF와 겹치지 않는 벤치마크 전용 etfId
+    private static final long BENCH_ETF_ID = -25_000L;
+    private static final int ROWS = 1000;
+
+    // IDENTITY 기준선용 임시 테이블 (etf_news와 같은 컬럼, id만 AUTO_INCREMENT)
+    private static final String IDENTITY_TABLE = "etf_news_identity_bench";
+    private static final String IDENTITY_INSERT = "INSERT INTO " + IDENTITY_TABLE
+            + " (etf_id, title, content, url, source, published_at, collected_at, analyzed, alert_triggered)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private EtfNewsRepository etfNewsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createIdentityTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        jdbcTemplate.execute("""
+                CREATE TABLE %s (
+                    id              BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                    etf_id          BIGINT        NOT NULL,
+                    title           VARCHAR(500)  NOT NULL,
+                    content         VARCHAR(2000),
+                    url             VARCHAR(1000) NOT NULL,
+                    source          VARCHAR(255),
+                    published_at    DATETIME(6)   NOT NULL,
+                    collected_at    DATETIME(6)   NOT NULL,
+                    analyzed        BIT           NOT NULL,
+                    alert_triggered BIT           NOT NULL
+                )
+                """.formatted(IDENTITY_TABLE));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        jdbcTemplate.update("DELETE FROM etf_news WHERE etf_id = ?", BENCH_ETF_ID);
+    }
+
+    @Test
+    void compareInsertThroughput() {
+        List<EtfNews> identityPerTx = newsBatch("identity-per-tx");
+        long identityPerTxNanos = time(() -> identityPerTx.forEach(this::insertWithIdentity));
+
+        List<EtfNews> identityOneTx = newsBatch("identity-one-tx");
+        long identityOneTxNanos = time(() -> transactionTemplate.executeWithoutResult(
+                s -> identityOneTx.forEach(this::insertWithIdentity)));
+
+        List<EtfNews> batched = newsBatch("batched");
+        long batchedNanos = time(() -> transactionTemplate.executeWithoutResult(s -> etfNewsRepository.saveAll(batched)));
+
+        assertEquals(ROWS * 2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + IDENTITY_TABLE, Integer.class));
+        assertEquals(ROWS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM etf_news WHERE etf_id = ?", Integer.class, BENCH_ETF_ID));
+
+        log.info("[etf_news insert {}건] before IDENTITY 건별 트랜잭션: {} rows/s", ROWS, throughput(identityPerTxNanos));
+        log.info("[etf_news insert {}건] before IDENTITY 한 트랜잭션:  {} rows/s", ROWS, throughput(identityOneTxNanos));
+        log.info("[etf_news insert {}건] after  채번 테이블 saveAll:   {} rows/s (건별 대비 x{}, 한 트랜잭션 대비 x{})",
+                ROWS, throughput(batchedNanos),
+                String.format("%.1f", (double) identityPerTxNanos / batchedNanos),
+                String.format("%.1f", (double) identityOneTxNanos / batchedNanos));
+    }
+
+    // IDENTITY 엔티티 persist와 같은 모양: INSERT 한 건 + 생성 키 조회
+    private void insertWithIdentity(EtfNews news) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(IDENTITY_INSERT, Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, news.getEtfId());
+            ps.setString(2, news.getTitle());
+            ps.setString(3, news.getContent());
+            ps.setString(4, news.getUrl());
+            ps.setString(5, news.getSource());
+            ps.setTimestamp(6, Timestamp.valueOf(news.getPublishedAt()));
+            ps.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setBoolean(8, news.isAnalyzed());
+            ps.setBoolean(9, news.isAlertTriggered());
+            return ps;
+        }, keyHolder);
+        news.setId(keyHolder.getKey().longValue());
+    }
+
+    private List<EtfNews> newsBatch(String label) {
+        List<EtfNews> list = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            list.add(EtfNews.builder()
+                    .etfId(BENCH_ETF_ID)
+                    .title("benchmark " + label + " " + i)
+                    .content("[benchmark] 관련 뉴스")
+                    .url("https://news.koscom.co.kr/news/bench-" + label + "-" + i)
+                    .source("KOSCOM")
+                    .publishedAt(now)
+                    .analyzed(false)
+                    .alertTriggered(false)
+                    .build());
+        }
+        return list;
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long throughput(long nanos) {
+        return Math.round(ROWS / (nanos / 1_000_000_000.0));
+    }
+}